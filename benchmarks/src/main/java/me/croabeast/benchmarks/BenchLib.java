@@ -0,0 +1,45 @@
+package me.croabeast.benchmarks;
+
+import me.croabeast.beanslib.BeansLib;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link BeansLib} implementation with the default keys and the {@link StubServer} plugin.
+ */
+public final class BenchLib extends BeansLib {
+
+    static {
+        StubServer.install();
+    }
+
+    @Override
+    protected @NotNull JavaPlugin getPlugin() {
+        return StubServer.getPlugin();
+    }
+
+    @Override
+    public @NotNull String langPrefixKey() {
+        return "<P>";
+    }
+
+    @Override
+    public @NotNull String langPrefix() {
+        return "&e&lBenchmarks &8»&7";
+    }
+
+    @Override
+    public boolean fixColorLogger() {
+        return false;
+    }
+
+    @Override
+    public boolean isHardSpacing() {
+        return true;
+    }
+
+    @Override
+    public boolean isStripPrefix() {
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package me.croabeast.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so every result has its throughput
+ * and its allocation rate (<strong>gc.alloc.rate.norm</strong> is bytes per operation).
+ * <p> The results are also written to <strong>benchmarks.json</strong>.
+ * Any JMH option can be used, like a regex to only run some benchmarks:
+ * <pre> java -jar target/benchmarks.jar ColorBenchmark</pre>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("benchmarks.json")
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,51 @@
+package me.croabeast.benchmarks;
+
+import me.croabeast.iridiumapi.IridiumAPI;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link IridiumAPI} color methods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColorBenchmark {
+
+    static {
+        StubServer.install();
+    }
+
+    @Param({"PLAIN", "LEGACY", "GRADIENT", "JSON"})
+    public Corpus corpus;
+
+    @Param({"true", "false"})
+    public boolean useRGB;
+
+    private String[] lines;
+
+    @Setup
+    public void setup() {
+        lines = corpus.getLines();
+    }
+
+    @Benchmark
+    public void process(Blackhole hole) {
+        for (String line : lines) hole.consume(IridiumAPI.process(line, useRGB));
+    }
+
+    @Benchmark
+    public void processPatterns(Blackhole hole) {
+        for (String line : lines) hole.consume(IridiumAPI.processPatterns(line, useRGB));
+    }
+
+    @Benchmark
+    public void stripAll(Blackhole hole) {
+        for (String line : lines) hole.consume(IridiumAPI.stripAll(line));
+    }
+}
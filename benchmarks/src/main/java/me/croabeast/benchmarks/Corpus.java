@@ -0,0 +1,67 @@
+package me.croabeast.benchmarks;
+
+/**
+ * The input lines of the benchmarks, grouped by the kind of format they use.
+ * <p> Every group mixes short and long lines, as found in real config files.
+ */
+public enum Corpus {
+    /**
+     * Plain lines without any color.
+     */
+    PLAIN(
+            "Welcome to the server!",
+            "You have been teleported to the spawn point, please wait a few seconds before moving.",
+            "Type /help to see all the available commands of this server and its game modes."
+    ),
+    /**
+     * Lines with legacy and hex colors.
+     */
+    LEGACY(
+            "&aWelcome &e&lback&r&7!",
+            "&8[&6Shop&8] &7You bought &f64x Diamonds &7for &a$1,500&7. Your balance is &a$23,112&7.",
+            "{#ff5555}Error: &7you don't have permission. <#55ffff>Contact &#ffaa00an admin #aaaaaafor help."
+    ),
+    /**
+     * Lines with long gradients and rainbows.
+     */
+    GRADIENT(
+            "<G:ff0000>Welcome</G:0000ff>",
+            "<G:fc466b>Welcome to the best survival server of the network, enjoy your stay!</G:3f5efb> " +
+                    "<R:1>Vote every day to get amazing rewards</R>",
+            "<R:80>&lRAINBOW</R> &7| <G:00c6ff>&lSeason 5 started</G:0072ff> &7| " +
+                    "<G:f7971e>Double XP weekend</G:ffd200> &7| <G:11998e>Events every hour</G:38ef7d>"
+    ),
+    /**
+     * Lines with a lot of json tags.
+     */
+    JSON(
+            "<hover=[&eClick to vote]|run=[/vote]>&a&lVOTE</text>",
+            "&7Links: <url=[https://example.com]|hover=[&bOur website]>&bWebsite</text> &8| " +
+                    "<url=[https://discord.gg/x]|hover=[&9Join us<n>&7Events and giveaways]>&9Discord</text> &8| " +
+                    "<suggest=[/msg admin ]|hover=[&cSend a message]>&cSupport</text>",
+            "<run=[/warp a]>&aA</text> <run=[/warp b]>&bB</text> <run=[/warp c]>&cC</text> " +
+                    "<run=[/warp d]>&dD</text> <run=[/warp e]>&eE</text> <run=[/warp f]>&fF</text>"
+    ),
+    /**
+     * Centered lines, like MOTDs and join messages.
+     */
+    CENTERED(
+            "[C]&6&lWELCOME",
+            "[C]<G:ff0000>&lSurvival Network</G:0000ff>",
+            "[C]&7There are &a152 &7players online in &e12 &7different servers"
+    );
+
+    private final String[] lines;
+
+    Corpus(String... lines) {
+        this.lines = lines;
+    }
+
+    /**
+     * Gets the lines of this corpus.
+     * @return the lines
+     */
+    public String[] getLines() {
+        return lines;
+    }
+}
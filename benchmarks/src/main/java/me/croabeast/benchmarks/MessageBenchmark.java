@@ -0,0 +1,46 @@
+package me.croabeast.benchmarks;
+
+import me.croabeast.beanslib.BeansLib;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link BeansLib} message methods, without a player.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageBenchmark {
+
+    @Param({"PLAIN", "LEGACY", "GRADIENT", "JSON", "CENTERED"})
+    public Corpus corpus;
+
+    private BeansLib lib;
+    private String[] lines;
+
+    @Setup
+    public void setup() {
+        lib = new BenchLib();
+        lines = corpus.getLines();
+    }
+
+    @Benchmark
+    public void colorize(Blackhole hole) {
+        for (String line : lines) hole.consume(lib.colorize(null, line));
+    }
+
+    @Benchmark
+    public void centerMessage(Blackhole hole) {
+        for (String line : lines) hole.consume(lib.centerMessage(null, line));
+    }
+
+    @Benchmark
+    public void stringToJson(Blackhole hole) {
+        for (String line : lines) hole.consume(lib.stringToJson(null, line));
+    }
+}
@@ -0,0 +1,116 @@
+package me.croabeast.benchmarks;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.logging.Logger;
+
+/**
+ * A small stub of the Bukkit server, so the lib can run without a real server.
+ * <p> It only answers the calls the text pipeline does: the server version,
+ * the logger and the plugin manager (every plugin is disabled).
+ * Any other method returns the default value of its return type.
+ * <p> It also has a {@link #getPlugin() plugin}, for the lib methods that use one.
+ */
+public final class StubServer {
+
+    /**
+     * The Bukkit version to report, it defines if the RGB format is supported.
+     */
+    public static final String BUKKIT_VERSION = "1.16.5-R0.1-SNAPSHOT";
+
+    private static final Logger LOGGER = Logger.getLogger("StubServer");
+
+    private static JavaPlugin plugin = null;
+
+    private StubServer() {}
+
+    /**
+     * Registers the stub as the Bukkit server, if there is no server yet.
+     */
+    public static synchronized void install() {
+        if (Bukkit.getServer() != null) return;
+
+        PluginManager manager = proxy(PluginManager.class, (method, args) -> null);
+
+        Bukkit.setServer(proxy(Server.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getName": return "StubServer";
+                case "getVersion": return "git-Spigot-stub (MC: 1.16.5)";
+                case "getBukkitVersion": return BUKKIT_VERSION;
+                case "getLogger": return LOGGER;
+                case "getPluginManager": return manager;
+                case "getOnlinePlayers": return Collections.emptyList();
+                case "isPrimaryThread": return true;
+                default: return null;
+            }
+        }));
+    }
+
+    /**
+     * Gets the stub plugin, installing the stub server if it's not installed.
+     * @return the plugin
+     */
+    public static synchronized JavaPlugin getPlugin() {
+        install();
+        if (plugin == null) plugin = new StubPlugin();
+        return plugin;
+    }
+
+    /*
+     * A plugin created with the test constructor of JavaPlugin, it's never enabled.
+     */
+    private static final class StubPlugin extends JavaPlugin {
+
+        private static final File FOLDER = new File(System.getProperty("java.io.tmpdir"), "BeansLibBenchmarks");
+
+        @SuppressWarnings("deprecation")
+        private StubPlugin() {
+            super(
+                    new JavaPluginLoader(Bukkit.getServer()),
+                    new PluginDescriptionFile("BeansLibBenchmarks", "2.3-R1", StubPlugin.class.getName()),
+                    FOLDER, new File(FOLDER, "BeansLibBenchmarks.jar")
+            );
+        }
+    }
+
+    private interface Answer {
+        Object answer(Method method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> clazz, Answer answer) {
+        return (T) Proxy.newProxyInstance(clazz.getClassLoader(), new Class<?>[] {clazz}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "hashCode": return System.identityHashCode(proxy);
+                    case "equals": return proxy == args[0];
+                    default: return clazz.getSimpleName() + "Stub";
+                }
+            }
+
+            Object result = answer.answer(method, args);
+            return result != null ? result : defaultValue(method.getReturnType());
+        });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == float.class) return 0F;
+        if (type == double.class) return 0D;
+        if (type == long.class) return 0L;
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        return 0;
+    }
+}
@@ -0,0 +1,74 @@
+package me.croabeast.benchmarks;
+
+import me.croabeast.beanslib.utilities.TextUtils;
+import me.croabeast.beanslib.utilities.TimeUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link TextUtils} and {@link TimeUtils} methods.
+ * <p> Only the benchmarks that read the {@link Lines} state run once per corpus.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextBenchmark {
+
+    static {
+        StubServer.install();
+    }
+
+    /*
+     * A reward message with a lot of keys, and the values to replace them.
+     */
+    private static final String REWARD = "&7{player} &7got &e{amount}x {item} &7from &b{crate} &7in " +
+            "{world} &8(&7{rarity}&8) &7- &a{money}$ &7and &d{xp} XP&7, streak: {streak}, " +
+            "rank: {rank}, next: {next}, total: {total}, bonus: {bonus}, by {PLAYER}";
+
+    private static final String[] KEYS = {
+            "{player}", "{amount}", "{item}", "{crate}", "{world}", "{rarity}", "{money}",
+            "{xp}", "{streak}", "{rank}", "{next}", "{total}", "{bonus}", "{time}", "{server}"
+    };
+
+    private static final String[] VALUES = {
+            "CroaBeast", "64", "Diamond", "Legendary", "survival", "Epic", "1500",
+            "250", "7", "MVP", "MVP+", "12", "x2", "12:00", "Lobby"
+    };
+
+    /**
+     * The lines of a corpus, for the benchmarks that depend on it.
+     */
+    @State(Scope.Benchmark)
+    public static class Lines {
+
+        @Param({"JSON", "LEGACY"})
+        public Corpus corpus;
+
+        private String[] lines;
+
+        @Setup
+        public void setup() {
+            lines = corpus.getLines();
+        }
+    }
+
+    @Benchmark
+    public void stripJson(Lines state, Blackhole hole) {
+        for (String line : state.lines) hole.consume(TextUtils.stripJson(line));
+    }
+
+    @Benchmark
+    public String replaceInsensitiveEach() {
+        return TextUtils.replaceInsensitiveEach(REWARD, KEYS, VALUES);
+    }
+
+    @Benchmark
+    public void formatTime(Blackhole hole) {
+        for (long seconds : new long[] {0, 1, 59, 61, 3600, 3661, 86400, 90061, 1_000_000})
+            hole.consume(TimeUtils.formatTime(seconds));
+    }
+}
@@ -1,12 +1,13 @@
 package me.croabeast.beanslib;
 
-import com.google.common.collect.*;
 import me.clip.placeholderapi.*;
+import me.croabeast.beanslib.messages.*;
 import me.croabeast.beanslib.terminals.*;
 import me.croabeast.beanslib.utilities.*;
 import me.croabeast.beanslib.utilities.chars.*;
 import me.croabeast.iridiumapi.*;
 import net.md_5.bungee.api.chat.*;
+import net.md_5.bungee.chat.ComponentSerializer;
 import org.bukkit.*;
 import org.bukkit.command.*;
 import org.bukkit.configuration.*;
@@ -15,11 +16,12 @@ import org.bukkit.plugin.java.*;
 import org.jetbrains.annotations.*;
 
 import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.logging.Logger;
 import java.util.regex.*;
 
 import static me.croabeast.beanslib.utilities.TextUtils.*;
 import static me.croabeast.iridiumapi.IridiumAPI.*;
-import static net.md_5.bungee.api.chat.ClickEvent.Action.*;
 
 /**
  * The main class of the Lib.
@@ -38,6 +40,40 @@ public abstract class BeansLib extends TextKeys {
      * Title handler.
      */
     private final TitleMngr titleMngr = new TitleMngr();
+    /*
+     * Compiled messages cache, created on first use.
+     */
+    private volatile LruCache<String, CompiledMessage> messageCache = null;
+    /*
+     * Char pattern, only compiled again if the char pattern changes.
+     */
+    private final PatternRegistry.Slot charSlot = PatternRegistry.slot("charPattern");
+    /*
+     * Async message sender, created on first use.
+     */
+    private volatile AsyncSender asyncSender = null;
+    /*
+     * Async console writer, created on first use.
+     */
+    private volatile LogSink logSink = null;
+    /*
+     * Optional filter of repeated messages, disabled if null.
+     */
+    private volatile DeliveryFilter deliveryFilter = null;
+    /*
+     * Persistent action bars, created on first use.
+     */
+    private volatile ActionBarService actionBarService = null;
+
+    /*
+     * Builder of the json components.
+     */
+    private final JsonBuilder jsonBuilder = new JsonBuilder(this);
+
+    /*
+     * Loaded message bundle, replaced on every reload.
+     */
+    private final AtomicReference<MessageBundle> messages = new AtomicReference<>(MessageBundle.EMPTY);
 
     /**
      * The {@link JavaPlugin} instance of your project.
@@ -52,7 +88,38 @@ public abstract class BeansLib extends TextKeys {
      * @return the formatted console message
      */
     private String colorLogger(@NotNull String line) {
-        return stripJson(loggerColorSupport() ? process(line, !fixColorLogger()) : stripAll(line));
+        if (!loggerColorSupport()) return TextStripper.strip(line, TextStripper.ALL | TextStripper.JSON);
+        return stripJson(process(line, !fixColorLogger()));
+    }
+
+    /**
+     * Writes a console line, using the {@link #getLogSink()} if {@link #isAsyncLogging()} is true.
+     * @param logger the logger
+     * @param line the input line
+     */
+    private void log(Logger logger, String line) {
+        if (isAsyncLogging()) getLogSink().log(logger, line);
+        else logger.info(colorLogger(line));
+    }
+
+    /**
+     * Gets the sink that writes the console lines from a background thread, creating it
+     * on first use. Its overflow policy is {@link LogSink.Overflow#BLOCK} by default.
+     * <p> It's shut down when the plugin is disabled, writing the pending lines, and the
+     * next lines are written by the calling thread.
+     * @return the log sink
+     */
+    @NotNull
+    public LogSink getLogSink() {
+        LogSink sink = logSink;
+        if (sink != null) return sink;
+
+        synchronized (this) {
+            if (logSink == null)
+                logSink = new LogSink(getPlugin().getName() + "-log",
+                        this::colorLogger, 4096, LogSink.Overflow.BLOCK).shutdownOnDisable(getPlugin());
+            return logSink;
+        }
     }
 
     /**
@@ -70,7 +137,7 @@ public abstract class BeansLib extends TextKeys {
      * @param lines the information to send
      */
     public void rawLog(String... lines) {
-        for (String s : lines) if (s != null) Bukkit.getLogger().info(colorLogger(s));
+        for (String s : lines) if (s != null) log(Bukkit.getLogger(), s);
     }
 
     /**
@@ -81,7 +148,7 @@ public abstract class BeansLib extends TextKeys {
     public void doLog(@Nullable CommandSender sender, String... lines) {
         if (sender instanceof Player) playerLog((Player) sender, lines);
         for (String s : lines) if (s != null)
-            getPlugin().getLogger().info(colorLogger(s.replace(langPrefixKey(), "")));
+            log(getPlugin().getLogger(), s.replace(langPrefixKey(), ""));
     }
 
     /**
@@ -133,8 +200,7 @@ public abstract class BeansLib extends TextKeys {
     public String parseChars(String line) {
         if (line == null || line.length() == 0) return line;
 
-        Pattern charPattern = Pattern.compile(charPattern());
-        Matcher match = charPattern.matcher(line);
+        Matcher match = charSlot.get(charPattern()).matcher(line);
 
         while (match.find()) {
             char s = (char) Integer.parseInt(match.group(1), 16);
@@ -164,37 +230,10 @@ public abstract class BeansLib extends TextKeys {
      * @return the centered chat message.
      */
     public String centerMessage(Player player, String message) {
-        String initial = colorize(player, stripJson(message));
-
-        int messagePxSize = 0;
-        boolean previousCode = false;
-        boolean isBold = false;
-
-        for (char c : initial.toCharArray()) {
-            if (c == '§') previousCode = true;
-            else if (previousCode) {
-                previousCode = false;
-                isBold = c == 'l' || c == 'L';
-            } else {
-                CharInfo dFI = Handler.getInfo(c);
-                messagePxSize += isBold ?
-                        dFI.getBoldLength() : dFI.getLength();
-                messagePxSize++;
-            }
-        }
+        // The line is colored once, and its json tags are removed only to measure it.
+        String colored = colorize(player, message), initial = stripJson(colored);
 
-        int halvedMessageSize = messagePxSize / 2;
-        int toCompensate = chatBoxSize() - halvedMessageSize;
-        int compensated = 0;
-
-        StringBuilder sb = new StringBuilder();
-        while (compensated < toCompensate) {
-            sb.append(" ");
-            // 4 is the SPACE char length + 1
-            compensated += 4;
-        }
-
-        return sb + colorize(player, message);
+        return TextMeasurer.padding(TextMeasurer.measure(initial), chatBoxSize()) + colored;
     }
 
     /**
@@ -209,56 +248,6 @@ public abstract class BeansLib extends TextKeys {
                 colorize(player, line);
     }
 
-    /**
-     * Converts a string to a TextComponent.
-     * @param line the line to convert.
-     * @return the requested component.
-     */
-    private TextComponent toComponent(String line) {
-        return new TextComponent(TextComponent.fromLegacyText(line));
-    }
-
-    /**
-     * Add a click event to a component.
-     * @param comp the component to add the event
-     * @param type the click event type
-     * @param input the input line for the click event
-     */
-    private void addClick(TextComponent comp, String type, String input) {
-        ClickEvent.Action action = null;
-        if (type.matches("(?i)run")) action = RUN_COMMAND;
-        else if (type.matches("(?i)suggest")) action = SUGGEST_COMMAND;
-        else if (type.matches("(?i)url")) action = OPEN_URL;
-        if (action != null) comp.setClickEvent(new ClickEvent(action, input));
-    }
-
-    /**
-     *
-     * @param comp the component to add the event
-     * @param hover the list to add as a hover
-     */
-    @SuppressWarnings("deprecation")
-    private void addHover(Player player, TextComponent comp, List<String> hover) {
-        BaseComponent[] array = new BaseComponent[hover.size()];
-        for (int i = 0; i < hover.size(); i++) {
-            String end = i == hover.size() - 1 ? "" : "\n";
-            array[i] = toComponent(colorize(player, hover.get(i)) + end);
-        }
-        comp.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, array));
-    }
-
-    /**
-     * Add the event found in the formatted line.
-     * @param comp the component to add the event.
-     * @param type the event's type.
-     * @param input the input line for the event.
-     */
-    private void addEvent(Player player, TextComponent comp, String type, String input) {
-        if (type.matches("(?i)run|suggest|url")) addClick(comp, type, input);
-        else if (type.matches("(?i)hover"))
-            addHover(player, comp, Arrays.asList(input.split(lineSeparator())));
-    }
-
     /**
      * Converts a line to a {@link BaseComponent} array and use it to send a json message.
      * <p>It uses the {@link TextKeys#JSON_PATTERN} to applies click and hover events.
@@ -267,7 +256,7 @@ public abstract class BeansLib extends TextKeys {
      * @return the converted json object
      */
     public BaseComponent[] stringToJson(Player player, String line) {
-        return stringToJson(player, line, null, new ArrayList<>());
+        return stringToJson(player, line, null, null);
     }
 
     /**
@@ -276,48 +265,25 @@ public abstract class BeansLib extends TextKeys {
      * @param player a player
      * @param line the input line
      * @param click the click line
-     * @param hover a string list
+     * @param hover a string list, can be null
      * @return the converted json object
      */
     public BaseComponent[] stringToJson(Player player, String line, @Nullable String click, List<String> hover) {
         line = centeredText(player, parseInteractiveChat(player, line));
 
-        if (!hover.isEmpty() || click != null) {
-            final TextComponent comp = toComponent(stripJson(line));
-            if (!hover.isEmpty()) addHover(player, comp, hover);
-
-            if (click != null) {
-                String[] input = click.split(":", 2);
-                addClick(comp, input[0], input[1]);
-            }
-
-            return Lists.newArrayList(comp).toArray(new BaseComponent[0]);
-        }
-
-        final Matcher match = JSON_PATTERN.matcher(line);
-        int lastEnd = 0;
-        List<BaseComponent> components = new ArrayList<>();
-
-        while (match.find()) {
-            String extra = match.group(3), before = line.substring(lastEnd, match.start());
-            final TextComponent comp = toComponent(match.group(6));
-
-            components.addAll(Arrays.asList(TextComponent.fromLegacyText(before)));
-            addEvent(player, comp, match.group(1), match.group(2));
-
-            if (extra != null && extra.matches("(?i)\\|" + JSON_PREFIX))
-                addEvent(player, comp, match.group(4), match.group(5));
-
-            components.add(comp);
-            lastEnd = match.end();
-        }
+        if ((hover != null && !hover.isEmpty()) || click != null)
+            return getJsonBuilder().build(player, stripJson(line), click, hover);
 
-        if (lastEnd < (line.length() - 1)) {
-            final String after = line.substring(lastEnd);
-            components.addAll(Arrays.asList(TextComponent.fromLegacyText(after)));
-        }
+        return getJsonBuilder().build(line);
+    }
 
-        return components.toArray(new BaseComponent[0]);
+    /**
+     * Gets the builder used to convert the lines to json components.
+     * @return the json builder
+     */
+    @NotNull
+    public JsonBuilder getJsonBuilder() {
+        return jsonBuilder;
     }
 
     /**
@@ -326,9 +292,25 @@ public abstract class BeansLib extends TextKeys {
      * @param message the message
      */
     public void sendActionBar(Player player, String message) {
+        if (!canDeliver(player, CompiledMessage.Type.ACTION_BAR, message)) return;
         actionBar.getMethod().send(player, message);
     }
 
+    /**
+     * Gets the service that keeps persistent action bars, creating it on first use.
+     * @return the action bar service
+     */
+    @NotNull
+    public ActionBarService getActionBarService() {
+        ActionBarService service = actionBarService;
+        if (service != null) return service;
+
+        synchronized (this) {
+            if (actionBarService == null) actionBarService = new ActionBarService(this, getPlugin());
+            return actionBarService;
+        }
+    }
+
     /**
      * Sends a title message to a player
      * @param player a player
@@ -340,9 +322,116 @@ public abstract class BeansLib extends TextKeys {
     public void sendTitle(Player player, @NotNull String[] message, int in, int stay, int out) {
         if (message.length <= 0 || message.length > 2) return;
         String subtitle = message.length == 1 ? "" : message[1];
+
+        if (!canDeliver(player, CompiledMessage.Type.TITLE, message[0] + '\n' + subtitle)) return;
         titleMngr.getMethod().send(player, message[0], subtitle, in, stay, out);
     }
 
+    /**
+     * Sends a title message to many players, creating the title only once.
+     * @param players the players
+     * @param message an array of title and subtitle
+     * @param in the fadeIn number in ticks
+     * @param stay the stay number in ticks
+     * @param out the fadeOut number in ticks
+     */
+    public void sendTitle(Collection<? extends Player> players, @NotNull String[] message, int in, int stay, int out) {
+        if (message.length <= 0 || message.length > 2) return;
+        String subtitle = message.length == 1 ? "" : message[1];
+
+        if (deliveryFilter != null) {
+            String text = message[0] + '\n' + subtitle;
+            List<Player> list = new ArrayList<>(players.size());
+
+            for (Player player : players)
+                if (canDeliver(player, CompiledMessage.Type.TITLE, text)) list.add(player);
+            players = list;
+        }
+
+        titleMngr.send(players, message[0], subtitle, in, stay, out);
+    }
+
+    /**
+     * Gets the filter of repeated messages.
+     * @return the filter, or null if it's disabled
+     */
+    @Nullable
+    public DeliveryFilter getDeliveryFilter() {
+        return deliveryFilter;
+    }
+
+    /**
+     * Sets the filter of repeated messages, used by the chat, json, action bar,
+     * title and bossbar messages.
+     * @param filter the filter, or null to disable it
+     */
+    public void setDeliveryFilter(@Nullable DeliveryFilter filter) {
+        deliveryFilter = filter;
+    }
+
+    /**
+     * Checks if a rendered message can be delivered to a player, see {@link DeliveryFilter}.
+     * @param player the player
+     * @param type the message type
+     * @param text the rendered text
+     * @return if it can be delivered
+     */
+    private boolean canDeliver(Player player, CompiledMessage.Type type, String text) {
+        DeliveryFilter filter = deliveryFilter;
+        return filter == null || filter.allow(player.getUniqueId(), type, text);
+    }
+
+    /**
+     * Gets the cache of the compiled messages, keyed by the raw line.
+     * <p> Its size is defined by {@link #messageCacheSize()}.
+     * @return the message cache
+     */
+    @NotNull
+    public LruCache<String, CompiledMessage> getMessageCache() {
+        LruCache<String, CompiledMessage> cache = messageCache;
+        if (cache != null) return cache;
+
+        synchronized (this) {
+            if (messageCache == null) messageCache = new LruCache<>(messageCacheSize());
+            return messageCache;
+        }
+    }
+
+    /**
+     * Removes all the compiled messages from the cache.
+     * <p> Call this if the keys or the options of this class change, like on a reload.
+     */
+    public void clearMessageCache() {
+        getMessageCache().clear();
+    }
+
+    /**
+     * Gets the compiled message of a line from the cache, or compiles it if it isn't stored.
+     * @param input the input line
+     * @return the compiled message
+     */
+    @NotNull
+    public CompiledMessage compileMessage(@NotNull String input) {
+        return getMessageCache().get(input, s -> CompiledMessage.compile(this, s));
+    }
+
+    /**
+     * Gets the sender that renders messages outside the main thread, creating it on first use.
+     * <p> It's shut down when the plugin is disabled, see {@link AsyncSender#shutdownOnDisable()}.
+     * @return the async sender
+     */
+    @NotNull
+    public AsyncSender getAsyncSender() {
+        AsyncSender sender = asyncSender;
+        if (sender != null) return sender;
+
+        synchronized (this) {
+            if (asyncSender == null)
+                asyncSender = new AsyncSender(this, getPlugin()).shutdownOnDisable();
+            return asyncSender;
+        }
+    }
+
     /**
      * Sends a message depending on its prefix. See {@link TextKeys#textPattern()} for more info
      * @param target a target player to send, can be null
@@ -350,43 +439,71 @@ public abstract class BeansLib extends TextKeys {
      * @param input the input line
      */
     public void sendMessage(@Nullable Player target, @NotNull Player sender, String input) {
-        if (target == null) target = sender;
-        Matcher matcher = textPattern().matcher(input);
-
-        if (matcher.find()) {
-            String pr = matcher.group(1), prefix = removeSpace(pr.substring(1, pr.length() - 1));
-            String line = colorize(sender, removeSpace(input.substring(prefix.length() + 2)));
-
-            if (prefix.matches("(?i)" + titleKey())) {
-                Matcher timeMatch = Pattern.compile("(?i)" + titleKey()).matcher(prefix);
-
-                String timeString;
-                try {
-                    timeString = timeMatch.find() ? timeMatch.group(1).substring(1) : null;
-                } catch (Exception e) {
-                    timeString = null;
-                }
-
-                int time;
-                try {
-                    time = timeString == null ? defaultTitleTicks()[1] :
-                            Integer.parseInt(timeString) * 20;
-                } catch (Exception e) {
-                    time = defaultTitleTicks()[1];
-                }
-
-                sendTitle(target, line.split(lineSeparator()),
-                        defaultTitleTicks()[0], time, defaultTitleTicks()[2]);
-            }
-            else if (prefix.matches("(?i)" + jsonKey())) {
-                String cmd = "minecraft:tellraw " + target.getName() + " " + line;
-                Bukkit.dispatchCommand(Bukkit.getConsoleSender(), cmd);
-            }
-            else if (prefix.matches("(?i)" + actionBarKey())) sendActionBar(target, line);
-            else if (prefix.matches("(?i)" + bossbarKey())) new Bossbar(getPlugin(), target, input).display();
-            else target.spigot().sendMessage(stringToJson(sender, line));
+        sendMessage(target, sender, compileMessage(input));
+    }
+
+    /**
+     * Sends a compiled message depending on its type.
+     * @param target a target player to send, can be null
+     * @param sender a player to format the message
+     * @param message the compiled message
+     */
+    public void sendMessage(@Nullable Player target, @NotNull Player sender, @NotNull CompiledMessage message) {
+        renderMessage(target, sender, message).run();
+    }
+
+    /**
+     * Renders a compiled message and returns the task that sends it.
+     * <p> The rendering (placeholders, colors and json components) can run outside
+     * the main thread, but the returned task should always run on the main thread.
+     * @param target a target player to send, can be null
+     * @param sender a player to format the message
+     * @param message the compiled message
+     * @return the task to send the rendered message
+     */
+    @NotNull
+    public Runnable renderMessage(@Nullable Player target, @NotNull Player sender, @NotNull CompiledMessage message) {
+        final Player player = target == null ? sender : target;
+
+        switch (message.getType()) {
+            case TITLE:
+                int[] ticks = defaultTitleTicks();
+                String[] title = message.getLines(sender);
+                int stay = message.getTitleTicks(ticks[1]);
+                return () -> sendTitle(player, title, ticks[0], stay, ticks[2]);
+
+            case JSON:
+                String json = message.getLine(sender);
+                BaseComponent[] parsed = JsonBuilder.parseJson(json);
+                if (parsed != null) return () -> {
+                    if (canDeliver(player, CompiledMessage.Type.JSON, json)) player.spigot().sendMessage(parsed);
+                };
+
+                String cmd = "minecraft:tellraw " + player.getName() + " " + json;
+                return () -> {
+                    if (canDeliver(player, CompiledMessage.Type.JSON, json))
+                        Bukkit.dispatchCommand(Bukkit.getConsoleSender(), cmd);
+                };
+
+            case ACTION_BAR:
+                String bar = message.getLine(sender);
+                return () -> sendActionBar(player, bar);
+
+            case BOSSBAR:
+                return () -> {
+                    Bossbar bossbar = new Bossbar(getPlugin(), player, message.getRaw());
+                    if (canDeliver(player, CompiledMessage.Type.BOSSBAR, bossbar.getLine()))
+                        bossbar.display(isSharedBossbars());
+                };
+
+            default:
+                BaseComponent[] components = message.toJson(sender);
+                return () -> {
+                    if (deliveryFilter == null || canDeliver(player,
+                            CompiledMessage.Type.CHAT, ComponentSerializer.toString(components)))
+                        player.spigot().sendMessage(components);
+                };
         }
-        else target.spigot().sendMessage(stringToJson(sender, input));
     }
 
     /**
@@ -404,18 +521,82 @@ public abstract class BeansLib extends TextKeys {
             if (line == null || line.equals("")) continue;
 
             line = line.startsWith(langPrefixKey()) ? line.replace(langPrefixKey(), langPrefix()) : line;
-            line = replaceInsensitiveEach(line, keys, values);
+            sendListLine(sender, line, null, keys, values);
+        }
+    }
 
-            if (sender != null && !(sender instanceof ConsoleCommandSender)) {
-                Player player = (Player) sender;
+    /**
+     * Sends a line of a message list, after replacing its lang prefix.
+     * @param sender a player to format and send the message
+     * @param line the line
+     * @param compiled the compiled line, used if the keys don't change the line
+     * @param keys a keys array
+     * @param values a values array
+     */
+    private void sendListLine(CommandSender sender, String line, @Nullable CompiledMessage compiled,
+                              @Nullable String[] keys, @Nullable String[] values) {
+        line = replaceInsensitiveEach(line, keys, values);
 
-                line = replaceInsensitiveEach(line, new String[] {playerKey(), playerWorldKey()},
-                        new String[] {player.getName(), player.getWorld().getName()});
+        if (sender != null && !(sender instanceof ConsoleCommandSender)) {
+            Player player = (Player) sender;
 
-                sendMessage(null, player, line);
-            }
-            else rawLog(centeredText(null, line));
+            line = replaceInsensitiveEach(line, new String[] {playerKey(), playerWorldKey()},
+                    new String[] {player.getName(), player.getWorld().getName()});
+
+            sendMessage(null, player, compiled != null &&
+                    compiled.getRaw().equals(line) ? compiled : compileMessage(line));
         }
+        else rawLog(centeredText(null, line));
+    }
+
+    /**
+     * Gets the loaded message bundle, see {@link #loadMessages(ConfigurationSection)}.
+     * @return the message bundle, or {@link MessageBundle#EMPTY} if it's not loaded
+     */
+    @NotNull
+    public MessageBundle getMessages() {
+        return messages.get();
+    }
+
+    /**
+     * Loads all the messages of a config file or section, and replaces the loaded bundle.
+     * <p> Call this on every reload: the old bundle is replaced in a single step,
+     * so the messages being sent will use the old or the new bundle, never a mix.
+     * @param section the config file or section, can be null
+     * @return the new message bundle
+     */
+    @NotNull
+    public MessageBundle loadMessages(@Nullable ConfigurationSection section) {
+        MessageBundle bundle = MessageBundle.load(this, section);
+        messages.set(bundle);
+        return bundle;
+    }
+
+    /**
+     * Sends a message path of the loaded bundle, like {@link #sendMessageList(CommandSender, List, String[], String[])}.
+     * <p> The lines are already compiled, so only the lines changed by the keys are compiled again.
+     * @param sender a player to format and send the message
+     * @param path the path of the string or string list
+     * @param keys a keys array
+     * @param values a values array
+     */
+    public void sendBundleMessage(CommandSender sender, String path, @Nullable String[] keys, @Nullable String[] values) {
+        MessageBundle bundle = getMessages();
+
+        List<String> lines = bundle.getLines(path);
+        List<CompiledMessage> compiled = bundle.getMessages(path);
+
+        for (int i = 0; i < lines.size(); i++)
+            sendListLine(sender, lines.get(i), compiled.get(i), keys, values);
+    }
+
+    /**
+     * See {@link #sendBundleMessage(CommandSender, String, String[], String[])} to more info.
+     * @param sender a player to format and send the message
+     * @param path the path of the string or string list
+     */
+    public void sendBundleMessage(CommandSender sender, String path) {
+        sendBundleMessage(sender, path, null, null);
     }
 
     /**
@@ -448,4 +629,44 @@ public abstract class BeansLib extends TextKeys {
     public void sendMessageList(CommandSender sender, ConfigurationSection section, String path) {
         sendMessageList(sender, toList(section, path));
     }
+
+    /**
+     * Checks if a line has the {@link #playerKey()} or the {@link #playerWorldKey()}.
+     * @param line the input line
+     * @param keys the player keys
+     * @return if the line has any of the keys
+     */
+    private boolean hasPlayerKeys(String line, String[] keys) {
+        return getReplacer(keys).containsAny(line);
+    }
+
+    /**
+     * Sends a message list to many players, like {@link #sendMessageList(CommandSender, List)}.
+     * <p> The lines without player keys or placeholders are parsed and converted only once,
+     * and the same result is sent to every player. The other lines are compiled once too,
+     * and only their player keys and placeholders are parsed for each player.
+     * @param players the players to send the message
+     * @param list the message list
+     */
+    public void broadcast(@NotNull Collection<? extends Player> players, @NotNull List<String> list) {
+        if (players.isEmpty() || list.isEmpty()) return;
+        String[] keys = {playerKey(), playerWorldKey()};
+
+        for (String line : list) {
+            if (line == null || line.equals("")) continue;
+            line = line.startsWith(langPrefixKey()) ? line.replace(langPrefixKey(), langPrefix()) : line;
+
+            CompiledMessage message = compileMessage(line);
+
+            if (!hasPlayerKeys(line, keys)) {
+                for (Player player : players) sendMessage(null, player, message);
+                continue;
+            }
+
+            for (Player player : players) {
+                String[] values = {player.getName(), player.getWorld().getName()};
+                sendMessage(null, player, message.replace(keys, values));
+            }
+        }
+    }
 }
@@ -0,0 +1,333 @@
+package me.croabeast.beanslib.messages;
+
+import me.clip.placeholderapi.PlaceholderAPI;
+import me.croabeast.beanslib.BeansLib;
+import me.croabeast.beanslib.utilities.PatternRegistry;
+import me.croabeast.beanslib.utilities.PlaceholderCache;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+
+/**
+ * Sends messages rendering them outside the main thread.
+ * <p> The placeholders, colors and json components are created in a bounded pool
+ * of worker threads (virtual threads if the JVM supports them), and the rendered
+ * messages are sent on the main thread.
+ * <p> The messages of the same player are always sent in the same order they were
+ * requested. Placeholders of a sync-only identifier, see {@link #addSyncOnly(String)},
+ * are parsed on the main thread before rendering the rest of the message.
+ */
+public final class AsyncSender {
+
+    private final BeansLib lib;
+    private final Plugin plugin;
+
+    private final ThreadPoolExecutor executor;
+    private final boolean virtual;
+
+    private final Map<UUID, CompletableFuture<Void>> chains = new ConcurrentHashMap<>();
+    private final Set<String> syncOnly = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a new sender.
+     * @param lib the lib instance
+     * @param plugin the plugin to schedule the main thread tasks
+     * @param threads the max amount of worker threads
+     * @param queueSize the max amount of messages waiting for a worker, if it's full
+     *                  (or the sender is shut down) the message will be rendered
+     *                  by the thread that queues it, see {@link #submit(Runnable)}
+     */
+    public AsyncSender(@NotNull BeansLib lib, @NotNull Plugin plugin, int threads, int queueSize) {
+        this.lib = lib;
+        this.plugin = plugin;
+
+        ThreadFactory factory = virtualFactory();
+        this.virtual = factory != null;
+
+        if (factory == null) {
+            AtomicInteger count = new AtomicInteger();
+            factory = r -> {
+                Thread thread = new Thread(r, plugin.getName() + "-render-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+
+        threads = Math.max(1, threads);
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, queueSize)), factory);
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Creates a new sender, with half of the available processors as workers.
+     * @param lib the lib instance
+     * @param plugin the plugin to schedule the main thread tasks
+     */
+    public AsyncSender(@NotNull BeansLib lib, @NotNull Plugin plugin) {
+        this(lib, plugin, Math.max(2, Runtime.getRuntime().availableProcessors() / 2), 1024);
+    }
+
+    /**
+     * Gets the virtual thread factory using reflection, so it works on Java 8.
+     * @return the factory, or null if the JVM doesn't have virtual threads
+     */
+    @Nullable
+    private static ThreadFactory virtualFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> clazz = Class.forName("java.lang.Thread$Builder");
+            return (ThreadFactory) clazz.getMethod("factory").invoke(builder);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks if the worker threads are virtual threads.
+     * @return if it uses virtual threads
+     */
+    public boolean usesVirtualThreads() {
+        return virtual;
+    }
+
+    /**
+     * Flags a placeholder identifier as sync-only, like <code>vault</code> for
+     * <code>%vault_eco_balance%</code>. Its placeholders are always parsed on the main thread.
+     * @param identifier the placeholder identifier, it's case-insensitive
+     * @return this instance
+     */
+    @NotNull
+    public AsyncSender addSyncOnly(@NotNull String identifier) {
+        syncOnly.add(identifier.toLowerCase(Locale.ENGLISH));
+        return this;
+    }
+
+    /**
+     * Removes the sync-only flag of a placeholder identifier.
+     * @param identifier the placeholder identifier, it's case-insensitive
+     * @return this instance
+     */
+    @NotNull
+    public AsyncSender removeSyncOnly(@NotNull String identifier) {
+        syncOnly.remove(identifier.toLowerCase(Locale.ENGLISH));
+        return this;
+    }
+
+    /**
+     * Checks if a placeholder identifier is sync-only.
+     * @param identifier the placeholder identifier, it's case-insensitive
+     * @return if it's sync-only
+     */
+    public boolean isSyncOnly(@NotNull String identifier) {
+        return syncOnly.contains(identifier.toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Parses the placeholders of the sync-only identifiers. It should run on the main thread.
+     * @param player a player to parse placeholders
+     * @param line the input line
+     * @return the parsed line
+     */
+    private String parseSyncOnly(Player player, String line) {
+        if (syncOnly.isEmpty() || line.indexOf('%') < 0) return line;
+        if (!PlaceholderCache.isEnabled()) return line;
+
+        Matcher matcher = PatternRegistry.compile(PlaceholderCache.PLACEHOLDER).matcher(line);
+        StringBuffer buffer = new StringBuffer();
+        boolean found = false;
+
+        while (matcher.find()) {
+            if (!isSyncOnly(matcher.group(1))) continue;
+            found = true;
+
+            String value = PlaceholderAPI.setPlaceholders(player, matcher.group());
+            matcher.appendReplacement(buffer, Matcher.quoteReplacement(value));
+        }
+
+        if (!found) return line;
+        matcher.appendTail(buffer);
+        return buffer.toString();
+    }
+
+    /**
+     * Checks if a line has any placeholder of a sync-only identifier.
+     * @param line the input line
+     * @return if it has sync-only placeholders
+     */
+    private boolean hasSyncOnly(String line) {
+        if (syncOnly.isEmpty() || line.indexOf('%') < 0) return false;
+
+        Matcher matcher = PatternRegistry.compile(PlaceholderCache.PLACEHOLDER).matcher(line);
+        while (matcher.find()) if (isSyncOnly(matcher.group(1))) return true;
+        return false;
+    }
+
+    /**
+     * Parses the sync-only placeholders on the main thread, waiting for it if needed.
+     * @param player a player to parse placeholders
+     * @param line the input line
+     * @return the parsed line
+     * @throws Exception if the main thread task failed or was interrupted
+     */
+    private String parseOnMainThread(Player player, String line) throws Exception {
+        if (!hasSyncOnly(line)) return line;
+        if (Bukkit.isPrimaryThread()) return parseSyncOnly(player, line);
+
+        return Bukkit.getScheduler().callSyncMethod(plugin, () -> parseSyncOnly(player, line)).get();
+    }
+
+    /**
+     * Runs a task on the main thread.
+     * @param task the task
+     * @param future the future to complete when the task finishes
+     */
+    private void deliver(Runnable task, CompletableFuture<Void> future) {
+        Runnable runnable = () -> {
+            try {
+                task.run();
+                future.complete(null);
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        };
+
+        try {
+            Bukkit.getScheduler().runTask(plugin, runnable);
+        } catch (Exception e) {
+            // The plugin is disabled, so the message is not sent.
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Submits a render task to the worker threads.
+     * <p> If the queue is full or the sender is shut down, the task runs on the
+     * calling thread, which never holds the lock of the chains map here.
+     * @param task the render task
+     * @return a future that completes when the task finishes
+     */
+    private CompletableFuture<Void> submit(Runnable task) {
+        try {
+            return CompletableFuture.runAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            task.run();
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Renders a message outside the main thread and sends it on the main thread.
+     * <p> See {@link BeansLib#sendMessage(Player, Player, String)} for more info.
+     * @param target a target player to send, can be null
+     * @param sender a player to format the message
+     * @param input the input line
+     * @return a future that completes when the message is sent
+     */
+    @NotNull
+    public CompletableFuture<Void> sendMessage(@Nullable Player target, @NotNull Player sender, @NotNull String input) {
+        final Player player = target == null ? sender : target;
+        final UUID uuid = player.getUniqueId();
+
+        CompletableFuture<Void> sent = new CompletableFuture<>();
+
+        Runnable task = () -> {
+            try {
+                String line = parseOnMainThread(sender, input);
+                CompiledMessage message = line.equals(input) ?
+                        lib.compileMessage(line) : CompiledMessage.compile(lib, line);
+
+                deliver(lib.renderMessage(player, sender, message), sent);
+            } catch (Throwable t) {
+                sent.completeExceptionally(t);
+            }
+        };
+
+        // The task is only submitted after the map is updated, so a
+        // rejected task never runs while the map lock is held.
+        CompletableFuture<Void> released = new CompletableFuture<>();
+
+        CompletableFuture<Void> chain = chains.compute(uuid, (k, previous) -> {
+            CompletableFuture<Void> start = previous == null ? released :
+                    previous.handle((v, e) -> null).thenCombine(released, (a, b) -> null);
+
+            return start.thenCompose(v -> submit(task));
+        });
+
+        chain.whenComplete((v, e) -> chains.remove(uuid, chain));
+        released.complete(null);
+
+        return sent;
+    }
+
+    /**
+     * Renders a message list outside the main thread and sends it on the main thread.
+     * @param player a player to format and send the messages
+     * @param list the message list
+     * @return a future that completes when all the messages are sent
+     */
+    @NotNull
+    public CompletableFuture<Void> sendMessageList(@NotNull Player player, @NotNull List<String> list) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (String line : list) {
+            if (line == null || line.equals("")) continue;
+            futures.add(sendMessage(null, player, line));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Gets the amount of messages waiting for a worker thread.
+     * @return the queued messages
+     */
+    public int getQueuedMessages() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Stops the worker threads and forgets the order of the pending messages. The queued
+     * messages are still rendered, but they won't be sent if the plugin is disabled.
+     * New messages are rendered by the requesting thread.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        chains.clear();
+    }
+
+    /**
+     * Shuts down this sender when its plugin is disabled. If the plugin
+     * is already disabled, it's shut down at once.
+     * @return this instance
+     */
+    @NotNull
+    public AsyncSender shutdownOnDisable() {
+        if (plugin.isEnabled())
+            Bukkit.getPluginManager().registerEvents(new Closer(), plugin);
+        else shutdown();
+        return this;
+    }
+
+    /*
+     * Shuts down the sender when its plugin is disabled.
+     */
+    private final class Closer implements Listener {
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onDisable(PluginDisableEvent event) {
+            if (event.getPlugin() == plugin) shutdown();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package me.croabeast.beanslib.messages;
+
+import me.croabeast.beanslib.BeansLib;
+import me.croabeast.beanslib.utilities.PatternRegistry;
+import me.croabeast.beanslib.utilities.TextKeys;
+import me.croabeast.beanslib.utilities.TextUtils;
+import net.md_5.bungee.api.chat.BaseComponent;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A message line with all the player-independent work already done.
+ * <p> The prefix detection, the message type and the title time are parsed once.
+ * If the line doesn't have any placeholder, the colored line (and the json
+ * components of a chat message) are also created once and reused on every send.
+ */
+public final class CompiledMessage {
+
+    /**
+     * The message types, see {@link TextKeys#textPattern()} for more info.
+     */
+    public enum Type {
+        CHAT, TITLE, JSON, ACTION_BAR, BOSSBAR
+    }
+
+    private final BeansLib lib;
+
+    private final String raw;
+    private final Type type;
+
+    private final boolean prefixed;
+    private final String body;
+
+    private final Integer titleTicks;
+    private final boolean dependent;
+
+    private volatile String colored = null;
+    private volatile String[] lines = null;
+    private volatile BaseComponent[] components = null;
+
+    private CompiledMessage(BeansLib lib, String raw, Type type, boolean prefixed, String body, Integer titleTicks) {
+        this.lib = lib;
+        this.raw = raw;
+        this.type = type;
+        this.prefixed = prefixed;
+        this.body = body;
+        this.titleTicks = titleTicks;
+        this.dependent = body.indexOf('%') > -1;
+    }
+
+    /**
+     * Compiles an input line using the keys of a {@link BeansLib} instance.
+     * @param lib the lib instance
+     * @param input the input line
+     * @return the compiled message
+     */
+    @NotNull
+    public static CompiledMessage compile(@NotNull BeansLib lib, @NotNull String input) {
+        Matcher matcher = lib.textPattern().matcher(input);
+        if (!matcher.find())
+            return new CompiledMessage(lib, input, Type.CHAT, false, input, null);
+
+        String pr = matcher.group(1), prefix = lib.removeSpace(pr.substring(1, pr.length() - 1));
+        String body = lib.removeSpace(input.substring(prefix.length() + 2));
+
+        Type type = Type.CHAT;
+        Integer ticks = null;
+
+        if (matches(prefix, lib.titleKey())) {
+            type = Type.TITLE;
+            Matcher timeMatch = PatternRegistry.compile("(?i)" + lib.titleKey()).matcher(prefix);
+
+            String timeString;
+            try {
+                timeString = timeMatch.find() ? timeMatch.group(1).substring(1) : null;
+            } catch (Exception e) {
+                timeString = null;
+            }
+
+            try {
+                ticks = timeString == null ? null : Integer.parseInt(timeString) * 20;
+            } catch (Exception e) {
+                ticks = null;
+            }
+        }
+        else if (matches(prefix, lib.jsonKey())) type = Type.JSON;
+        else if (matches(prefix, lib.actionBarKey())) type = Type.ACTION_BAR;
+        else if (matches(prefix, lib.bossbarKey())) type = Type.BOSSBAR;
+
+        return new CompiledMessage(lib, input, type, true, body, ticks);
+    }
+
+    /**
+     * Creates a copy of this message with some keys replaced, like the player keys,
+     * keeping its parsed prefix, type and title time, so the line is not compiled again.
+     * <p> It's the same as compiling the replaced line if the keys are not in the prefix.
+     * @param keys the keys array
+     * @param values the values array
+     * @return the new compiled message
+     */
+    @NotNull
+    public CompiledMessage replace(@NotNull String[] keys, @NotNull String[] values) {
+        String newRaw = TextUtils.replaceInsensitiveEach(raw, keys, values);
+        String newBody = prefixed ? TextUtils.replaceInsensitiveEach(body, keys, values) : newRaw;
+
+        return new CompiledMessage(lib, newRaw, type, prefixed, newBody, titleTicks);
+    }
+
+    /**
+     * Checks if a prefix is a case-insensitive match of a message-type key.
+     * @param prefix the prefix
+     * @param key the key regex
+     * @return if the prefix matches the key
+     */
+    private static boolean matches(String prefix, String key) {
+        return PatternRegistry.compile("(?i)" + key).matcher(prefix).matches();
+    }
+
+    /**
+     * Gets the raw input line.
+     * @return the raw line
+     */
+    @NotNull
+    public String getRaw() {
+        return raw;
+    }
+
+    /**
+     * Gets the message type.
+     * @return the type
+     */
+    @NotNull
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Checks if the line had a message-type prefix.
+     * @return if it's prefixed
+     */
+    public boolean isPrefixed() {
+        return prefixed;
+    }
+
+    /**
+     * Checks if the line has placeholders, so it needs to be colored for every player.
+     * @return if the line depends on the player
+     */
+    public boolean isPlayerDependent() {
+        return dependent;
+    }
+
+    /**
+     * Gets the title stay ticks.
+     * @param def the default ticks if the title doesn't have a time
+     * @return the stay ticks
+     */
+    public int getTitleTicks(int def) {
+        return titleTicks == null ? def : titleTicks;
+    }
+
+    /**
+     * Gets the colored line without the prefix.
+     * @param player a player to parse placeholders
+     * @return the colored line
+     */
+    @NotNull
+    public String getLine(@Nullable Player player) {
+        if (dependent) return lib.colorize(player, body);
+
+        String line = colored;
+        if (line == null) colored = line = lib.colorize(null, body);
+        return line;
+    }
+
+    /**
+     * Gets the colored line split using the {@link TextKeys#lineSeparator()}.
+     * @param player a player to parse placeholders
+     * @return the split lines
+     */
+    @NotNull
+    public String[] getLines(@Nullable Player player) {
+        Pattern separator = PatternRegistry.compile(lib.lineSeparator());
+        if (dependent) return separator.split(getLine(player));
+
+        String[] array = lines;
+        if (array == null) lines = array = separator.split(getLine(null));
+        return array.clone();
+    }
+
+    /**
+     * Gets the json components of a chat message.
+     * <p> If the message doesn't depend on the player, the components are shared,
+     * they should not be modified.
+     * @param player a player to parse placeholders
+     * @return the components
+     */
+    @NotNull
+    public BaseComponent[] toJson(@NotNull Player player) {
+        if (prefixed) return lib.stringToJson(player, getLine(player));
+        if (dependent || TextUtils.isInteractiveChatEnabled())
+            return lib.stringToJson(player, raw);
+
+        BaseComponent[] array = components;
+        if (array == null) components = array = lib.stringToJson(null, raw);
+        return array;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledMessage{type=" + type + ", raw='" + raw + "'}";
+    }
+}
@@ -0,0 +1,184 @@
+package me.croabeast.beanslib.messages;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drops the identical messages sent to the same player inside a time window.
+ * <p> Every player has a small ring with the hashes of its last delivered messages and
+ * their times. A message is suppressed if its type and rendered text have the same hash
+ * of a message delivered to the player less than the window ago.
+ * <p> The rings are removed when the players quit. It's thread-safe.
+ */
+public final class DeliveryFilter {
+
+    private final long window;
+    private final int size;
+
+    private final Map<UUID, Ring> rings = new ConcurrentHashMap<>();
+    private final AtomicLong delivered = new AtomicLong(), suppressed = new AtomicLong();
+
+    private final Listener cleaner = new Cleaner();
+
+    /**
+     * Creates a new filter and registers its quit listener.
+     * @param plugin the plugin's instance
+     * @param window the time to suppress an identical message
+     * @param unit the window unit
+     * @param size the amount of recent messages checked per player
+     */
+    public DeliveryFilter(@NotNull Plugin plugin, long window, @NotNull TimeUnit unit, int size) {
+        this.window = Math.max(0, unit.toNanos(window));
+        this.size = Math.max(1, size);
+
+        Bukkit.getPluginManager().registerEvents(cleaner, plugin);
+    }
+
+    /**
+     * Creates a new filter that checks the last 16 messages of every player.
+     * @param plugin the plugin's instance
+     * @param window the time to suppress an identical message
+     * @param unit the window unit
+     */
+    public DeliveryFilter(@NotNull Plugin plugin, long window, @NotNull TimeUnit unit) {
+        this(plugin, window, unit, 16);
+    }
+
+    /**
+     * Gets the 64-bit hash of a rendered message.
+     * @param type the message type
+     * @param text the rendered text
+     * @return the hash
+     */
+    private static long hash(CompiledMessage.Type type, String text) {
+        long hash = 0xcbf29ce484222325L ^ type.ordinal();
+
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Checks if a message can be delivered to a player, and records it if it can.
+     * @param uuid the player's UUID
+     * @param type the message type
+     * @param text the rendered text
+     * @return true if it can be delivered, false if it's suppressed
+     */
+    public boolean allow(@NotNull UUID uuid, @NotNull CompiledMessage.Type type, @NotNull String text) {
+        boolean allowed = rings.computeIfAbsent(uuid, k -> new Ring(size)).offer(hash(type, text), window);
+
+        (allowed ? delivered : suppressed).incrementAndGet();
+        return allowed;
+    }
+
+    /**
+     * Gets the time to suppress an identical message.
+     * @param unit the time unit
+     * @return the window
+     */
+    public long getWindow(@NotNull TimeUnit unit) {
+        return unit.convert(window, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the amount of delivered messages.
+     * @return the delivered messages
+     */
+    public long getDelivered() {
+        return delivered.get();
+    }
+
+    /**
+     * Gets the amount of suppressed messages.
+     * @return the suppressed messages
+     */
+    public long getSuppressed() {
+        return suppressed.get();
+    }
+
+    /**
+     * Gets the ratio between the suppressed messages and all the checked messages.
+     * @return the suppression rate, from 0 to 1
+     */
+    public double getSuppressionRate() {
+        long count = suppressed.get(), total = count + delivered.get();
+        return total == 0 ? 0 : (double) count / total;
+    }
+
+    /**
+     * Removes the recent messages of a player.
+     * @param uuid the player's UUID
+     */
+    public void clear(@NotNull UUID uuid) {
+        rings.remove(uuid);
+    }
+
+    /**
+     * Removes the recent messages of all the players.
+     */
+    public void clear() {
+        rings.clear();
+    }
+
+    /**
+     * Unregisters the quit listener and removes all the recent messages.
+     */
+    public void unregister() {
+        HandlerList.unregisterAll(cleaner);
+        rings.clear();
+    }
+
+    /*
+     * Removes the recent messages of the players that quit.
+     */
+    private final class Cleaner implements Listener {
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onQuit(PlayerQuitEvent event) {
+            clear(event.getPlayer().getUniqueId());
+        }
+    }
+
+    /*
+     * The hashes and times of the last delivered messages of a player.
+     */
+    private static final class Ring {
+
+        private final long[] hashes, times;
+        private int next = 0, count = 0;
+
+        private Ring(int size) {
+            hashes = new long[size];
+            times = new long[size];
+        }
+
+        private synchronized boolean offer(long hash, long window) {
+            long now = System.nanoTime();
+
+            for (int i = 0; i < count; i++)
+                if (hashes[i] == hash && now - times[i] < window) return false;
+
+            hashes[next] = hash;
+            times[next] = now;
+
+            next = (next + 1) % hashes.length;
+            if (count < hashes.length) count++;
+            return true;
+        }
+    }
+}
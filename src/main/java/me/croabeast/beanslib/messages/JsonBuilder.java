@@ -0,0 +1,246 @@
+package me.croabeast.beanslib.messages;
+
+import me.croabeast.beanslib.BeansLib;
+import me.croabeast.beanslib.utilities.LruCache;
+import me.croabeast.beanslib.utilities.PatternRegistry;
+import me.croabeast.beanslib.utilities.TextKeys;
+import net.md_5.bungee.api.chat.*;
+import net.md_5.bungee.chat.ComponentSerializer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.regex.Matcher;
+
+/**
+ * Builds the json components of colored lines with click and hover events.
+ * <p> Every text segment is colored and converted to components only once, the event
+ * types are resolved with a switch instead of regexes, and the hover components are only
+ * built if the line has a hover event.
+ * <p> It also parses raw json lines, see {@link #parseJson(String)}.
+ */
+public final class JsonBuilder {
+
+    /**
+     * The types of the events of the {@link TextKeys#JSON_PATTERN}.
+     */
+    public enum EventType {
+        HOVER(null),
+        RUN(ClickEvent.Action.RUN_COMMAND),
+        SUGGEST(ClickEvent.Action.SUGGEST_COMMAND),
+        URL(ClickEvent.Action.OPEN_URL);
+
+        private final ClickEvent.Action action;
+
+        EventType(ClickEvent.Action action) {
+            this.action = action;
+        }
+
+        /**
+         * Gets the click action of this type.
+         * @return the action, or null if it's a hover
+         */
+        @Nullable
+        public ClickEvent.Action getAction() {
+            return action;
+        }
+
+        /**
+         * Gets the type of an event name, ignoring its case.
+         * @param name the name, like <code>run</code> or <code>HOVER</code>
+         * @return the type, or null if it's not valid
+         */
+        @Nullable
+        public static EventType of(@Nullable String name) {
+            if (name == null) return null;
+
+            switch (name.toLowerCase(Locale.ENGLISH)) {
+                case "hover": return HOVER;
+                case "run": return RUN;
+                case "suggest": return SUGGEST;
+                case "url": return URL;
+                default: return null;
+            }
+        }
+    }
+
+    /**
+     * The json components that need the server to be resolved, like the <code>tellraw</code> command does.
+     */
+    private static final String[] SERVER_KEYS = {"\"selector\"", "\"score\"", "\"nbt\""};
+
+    /**
+     * The marker of the json lines that can't be parsed.
+     */
+    private static final BaseComponent[] INVALID = new BaseComponent[0];
+
+    /**
+     * The parsed components of the last json lines.
+     */
+    private static final LruCache<String, BaseComponent[]> PARSED = new LruCache<>(500);
+
+    private final BeansLib lib;
+
+    /**
+     * Creates a builder for a lib instance.
+     * @param lib the lib instance
+     */
+    public JsonBuilder(@NotNull BeansLib lib) {
+        this.lib = lib;
+    }
+
+    /**
+     * Converts a colored line to a TextComponent.
+     * @param line the line to convert.
+     * @return the requested component.
+     */
+    private static TextComponent toComponent(String line) {
+        return new TextComponent(TextComponent.fromLegacyText(line));
+    }
+
+    /**
+     * Adds a click event to a component.
+     * @param comp the component to add the event
+     * @param type the click event type
+     * @param input the input line for the click event
+     */
+    private static void addClick(TextComponent comp, EventType type, String input) {
+        if (type != null && type.action != null) comp.setClickEvent(new ClickEvent(type.action, input));
+    }
+
+    /**
+     * Adds a hover event to a component.
+     * @param comp the component to add the event
+     * @param hover the colored hover lines
+     */
+    @SuppressWarnings("deprecation")
+    private static void addHover(TextComponent comp, String[] hover) {
+        int size = hover.length;
+        BaseComponent[] array = new BaseComponent[size];
+
+        for (int i = 0; i < size; i++)
+            array[i] = toComponent(i == size - 1 ? hover[i] : hover[i] + "\n");
+
+        comp.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, array));
+    }
+
+    /**
+     * Adds the event found in the colored line. The hover lines were colored with
+     * the line, so they are not colored again.
+     * @param comp the component to add the event
+     * @param name the event's name
+     * @param input the input line for the event
+     */
+    private void addEvent(TextComponent comp, String name, String input) {
+        EventType type = EventType.of(name);
+        if (type == null) return;
+
+        if (type != EventType.HOVER) {
+            addClick(comp, type, input);
+            return;
+        }
+
+        addHover(comp, PatternRegistry.compile(lib.lineSeparator()).split(input));
+    }
+
+    /**
+     * Builds the components of a colored line, applying the events of the {@link TextKeys#JSON_PATTERN}.
+     * <p> The hover lines are already colored with the line, so no text is colored twice.
+     * @param line the colored line
+     * @return the components
+     */
+    @NotNull
+    public BaseComponent[] build(@NotNull String line) {
+        Matcher match = TextKeys.JSON_PATTERN.matcher(line);
+        int lastEnd = 0;
+        List<BaseComponent> components = new ArrayList<>();
+
+        while (match.find()) {
+            String before = line.substring(lastEnd, match.start());
+            TextComponent comp = toComponent(match.group(6));
+
+            Collections.addAll(components, TextComponent.fromLegacyText(before));
+            addEvent(comp, match.group(1), match.group(2));
+
+            // The optional second event, the pattern already checked its format.
+            if (match.group(4) != null) addEvent(comp, match.group(4), match.group(5));
+
+            components.add(comp);
+            lastEnd = match.end();
+        }
+
+        if (lastEnd < (line.length() - 1))
+            Collections.addAll(components, TextComponent.fromLegacyText(line.substring(lastEnd)));
+
+        return components.toArray(new BaseComponent[0]);
+    }
+
+    /**
+     * Builds a single component of a colored line, with a click and a hover event.
+     * @param player a player to parse the hover placeholders, can be null
+     * @param line the colored line, without json tags
+     * @param click the click line, like <code>run:/help</code>, can be null
+     * @param hover the hover lines, can be null or empty
+     * @return the components
+     */
+    @NotNull
+    public BaseComponent[] build(@Nullable Player player, @NotNull String line,
+                                 @Nullable String click, @Nullable List<String> hover) {
+        TextComponent comp = toComponent(line);
+
+        if (hover != null && !hover.isEmpty()) {
+            String[] lines = new String[hover.size()];
+            for (int i = 0; i < lines.length; i++) lines[i] = lib.colorize(player, hover.get(i));
+            addHover(comp, lines);
+        }
+
+        if (click != null) {
+            int index = click.indexOf(':');
+            if (index >= 0) addClick(comp, EventType.of(click.substring(0, index)), click.substring(index + 1));
+        }
+
+        return new BaseComponent[] {comp};
+    }
+
+    /**
+     * Parses a raw json line, like the <code>tellraw</code> command, to send it directly to
+     * the players. The result of every json line is cached, so the repeated lines are not
+     * parsed again.
+     * <p> The returned components are shared, they should not be modified.
+     * @param json the json line
+     * @return the components, or null if the line is not valid json or if it has components
+     *         that only the server can resolve, like selectors, scores or nbt values
+     */
+    @Nullable
+    public static BaseComponent[] parseJson(@NotNull String json) {
+        BaseComponent[] components = PARSED.get(json, JsonBuilder::parse);
+        return components == INVALID ? null : components;
+    }
+
+    /**
+     * Parses a json line without using the cache.
+     * @param json the json line
+     * @return the components, or the invalid marker
+     */
+    private static BaseComponent[] parse(String json) {
+        for (String key : SERVER_KEYS)
+            if (json.contains(key)) return INVALID;
+
+        try {
+            BaseComponent[] components = ComponentSerializer.parse(json);
+            return components == null || components.length == 0 ? INVALID : components;
+        } catch (Exception e) {
+            return INVALID;
+        }
+    }
+
+    /**
+     * Gets the cache of the parsed json lines.
+     * @return the json cache
+     */
+    @NotNull
+    public static LruCache<String, BaseComponent[]> getJsonCache() {
+        return PARSED;
+    }
+}
@@ -0,0 +1,374 @@
+package me.croabeast.beanslib.messages;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Writes console lines from a background thread.
+ * <p> The lines are added to a lock-free queue and the calling thread returns at once.
+ * The writer thread takes the lines in batches, formats them and writes every batch
+ * to its loggers, keeping the order of the lines.
+ * <p> If the queue is full, the {@link Overflow} policy decides what happens with
+ * the new lines. The dropped lines are counted, see {@link #getDroppedLines()}.
+ * <p> If the writer thread is not running, the lines are written by the calling thread,
+ * so a stopped sink never blocks its callers.
+ */
+public final class LogSink {
+
+    /**
+     * What to do with a new line if the queue is full.
+     */
+    public enum Overflow {
+        /**
+         * The line is dropped.
+         */
+        DROP,
+        /**
+         * The calling thread waits until the queue has space. If the writer thread
+         * stops while waiting, the line is written by the calling thread.
+         */
+        BLOCK,
+        /**
+         * If the line is the same as the last queued line, it's counted as a repeat of
+         * that line, written like <code>line (x3)</code>. Otherwise, it's dropped.
+         */
+        COALESCE
+    }
+
+    /**
+     * The max amount of lines written in a batch.
+     */
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * The max nanoseconds the writer waits for new lines before checking again,
+     * and a blocked caller waits for space before checking the writer again.
+     */
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final Function<String, String> formatter;
+    private volatile Overflow overflow;
+
+    private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+    private final Semaphore space;
+    private final int capacity;
+
+    private final AtomicLong queued = new AtomicLong(), written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong(), coalesced = new AtomicLong();
+
+    private volatile Entry last = null;
+    private volatile boolean running = true;
+
+    private final Thread writer;
+
+    /**
+     * Creates a new sink and starts its writer thread.
+     * @param name the name of the writer thread
+     * @param formatter the function to format every line before writing it
+     * @param capacity the max amount of lines waiting to be written
+     * @param overflow the policy if the queue is full
+     */
+    public LogSink(@NotNull String name, @NotNull Function<String, String> formatter,
+                   int capacity, @NotNull Overflow overflow) {
+        this.formatter = formatter;
+        this.overflow = overflow;
+
+        this.capacity = Math.max(1, capacity);
+        space = new Semaphore(this.capacity);
+
+        writer = new Thread(this::run, name);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Adds a line to the queue. If the sink is shut down or its writer thread stopped,
+     * the line is written by the calling thread.
+     * @param logger the logger to write the line
+     * @param line the line, it's formatted by the writer thread
+     */
+    public void log(@NotNull Logger logger, @NotNull String line) {
+        if (!running || !writer.isAlive()) {
+            write(logger, line, 0);
+            return;
+        }
+
+        Overflow policy = overflow;
+
+        if (policy == Overflow.BLOCK) {
+            if (!acquire()) {
+                write(logger, line, 0);
+                return;
+            }
+        }
+        else if (!space.tryAcquire()) {
+            Entry entry = last;
+
+            if (policy == Overflow.COALESCE && entry != null &&
+                    entry.logger == logger && entry.line.equals(line) && entry.repeat()) {
+                coalesced.incrementAndGet();
+                return;
+            }
+
+            dropped.incrementAndGet();
+            return;
+        }
+
+        Entry entry = new Entry(logger, line);
+        queue.add(entry);
+        last = entry;
+
+        queued.incrementAndGet();
+        LockSupport.unpark(writer);
+
+        // The sink was shut down while adding the line, so nobody may write it.
+        if (!running && queue.remove(entry)) {
+            space.release();
+            write(logger, line, entry.seal());
+            written.incrementAndGet();
+        }
+    }
+
+    /**
+     * Waits until the queue has space, while the writer thread is running.
+     * @return true if the space was acquired, false if the writer stopped or the thread was interrupted
+     */
+    private boolean acquire() {
+        try {
+            while (!space.tryAcquire(IDLE_NANOS, TimeUnit.NANOSECONDS))
+                if (!running || !writer.isAlive()) return false;
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * The loop of the writer thread.
+     */
+    private void run() {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+
+        while (true) {
+            Entry entry;
+            while (batch.size() < BATCH_SIZE && (entry = queue.poll()) != null) batch.add(entry);
+
+            if (batch.isEmpty()) {
+                if (!running) return;
+                LockSupport.parkNanos(this, IDLE_NANOS);
+                continue;
+            }
+
+            space.release(batch.size());
+
+            for (Entry e : batch) {
+                try {
+                    write(e.logger, e.line, e.seal());
+                } catch (Throwable t) {
+                    // A failing logger or handler can't stop the writer.
+                }
+            }
+
+            written.addAndGet(batch.size());
+            batch.clear();
+        }
+    }
+
+    /**
+     * Formats and writes a line.
+     * @param logger the logger
+     * @param line the line
+     * @param repeats the times the line was repeated
+     */
+    private void write(Logger logger, String line, int repeats) {
+        String text;
+        try {
+            text = formatter.apply(line);
+        } catch (RuntimeException e) {
+            text = line;
+        }
+
+        logger.info(repeats > 0 ? text + " (x" + (repeats + 1) + ")" : text);
+    }
+
+    /**
+     * Sets the policy if the queue is full.
+     * @param overflow the policy
+     * @return this instance
+     */
+    @NotNull
+    public LogSink setOverflow(@NotNull Overflow overflow) {
+        this.overflow = overflow;
+        return this;
+    }
+
+    /**
+     * Gets the policy if the queue is full.
+     * @return the policy
+     */
+    @NotNull
+    public Overflow getOverflow() {
+        return overflow;
+    }
+
+    /**
+     * Gets the max amount of lines waiting to be written.
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the amount of lines waiting to be written.
+     * @return the pending lines
+     */
+    public int getPendingLines() {
+        return (int) Math.max(0, queued.get() - written.get());
+    }
+
+    /**
+     * Gets the amount of lines dropped because the queue was full.
+     * @return the dropped lines
+     */
+    public long getDroppedLines() {
+        return dropped.get();
+    }
+
+    /**
+     * Gets the amount of lines counted as a repeat of the last queued line because the queue was full.
+     * @return the coalesced lines
+     */
+    public long getCoalescedLines() {
+        return coalesced.get();
+    }
+
+    /**
+     * Waits until all the queued lines are written.
+     * @param timeout the max time to wait
+     * @param unit the time unit
+     * @return if all the lines were written
+     */
+    public boolean flush(long timeout, @NotNull TimeUnit unit) {
+        long target = queued.get(), deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        while (written.get() < target) {
+            if (Thread.currentThread() == writer || !writer.isAlive()) return false;
+            if (System.nanoTime() - deadline >= 0) return false;
+
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    /**
+     * Stops the writer thread after writing all the queued lines. The next
+     * lines are written by the calling thread.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(writer);
+
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (writer.isAlive()) return;
+
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            space.release();
+            try {
+                write(entry.logger, entry.line, entry.seal());
+            } catch (Throwable t) {
+                // The other lines are still written.
+            }
+            written.incrementAndGet();
+        }
+    }
+
+    /**
+     * Shuts down this sink when a plugin is disabled, writing its pending lines.
+     * If the plugin is already disabled, it's shut down at once.
+     * @param plugin the plugin
+     * @return this instance
+     */
+    @NotNull
+    public LogSink shutdownOnDisable(@NotNull Plugin plugin) {
+        if (plugin.isEnabled())
+            Bukkit.getPluginManager().registerEvents(new Closer(plugin), plugin);
+        else shutdown();
+        return this;
+    }
+
+    /**
+     * Checks if the writer thread is running.
+     * @return if it's running
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /*
+     * Shuts down the sink when its plugin is disabled.
+     */
+    private final class Closer implements Listener {
+
+        private final Plugin plugin;
+
+        private Closer(Plugin plugin) {
+            this.plugin = plugin;
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onDisable(PluginDisableEvent event) {
+            if (event.getPlugin() == plugin) shutdown();
+        }
+    }
+
+    /*
+     * A queued line and its repeats, sealed when it's written.
+     */
+    private static final class Entry {
+
+        private final Logger logger;
+        private final String line;
+        private final AtomicInteger repeats = new AtomicInteger();
+
+        private Entry(Logger logger, String line) {
+            this.logger = logger;
+            this.line = line;
+        }
+
+        private boolean repeat() {
+            int count;
+            do {
+                if ((count = repeats.get()) < 0) return false;
+            } while (!repeats.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        private int seal() {
+            return repeats.getAndSet(-1);
+        }
+    }
+}
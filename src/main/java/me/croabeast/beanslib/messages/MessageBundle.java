@@ -0,0 +1,136 @@
+package me.croabeast.beanslib.messages;
+
+import me.croabeast.beanslib.BeansLib;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+import static me.croabeast.beanslib.utilities.TextUtils.*;
+
+/**
+ * An immutable bundle with all the messages of a config file or section.
+ * <p> The section is read only once, when the bundle is loaded: every path is
+ * converted to its lines (like {@link me.croabeast.beanslib.utilities.TextUtils#toList(ConfigurationSection, String)}),
+ * the lang prefix is replaced and every line is compiled. Getting a message is
+ * a single map lookup, without using the config API.
+ * <p> To reload the messages, load a new bundle and replace the old one, see
+ * {@link BeansLib#loadMessages(ConfigurationSection)}.
+ */
+public final class MessageBundle {
+
+    /**
+     * A bundle without messages.
+     */
+    public static final MessageBundle EMPTY = new MessageBundle(Collections.emptyMap());
+
+    private final Map<String, Entry> entries;
+
+    private MessageBundle(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Loads all the message paths of a config file or section.
+     * <p> Empty lines are skipped, and lines starting with the {@link BeansLib#langPrefixKey()}
+     * have it replaced by the {@link BeansLib#langPrefix()}.
+     * @param lib the lib instance
+     * @param section the config file or section, can be null
+     * @return the loaded bundle
+     */
+    @NotNull
+    public static MessageBundle load(@NotNull BeansLib lib, @Nullable ConfigurationSection section) {
+        if (section == null) return EMPTY;
+
+        String key = lib.langPrefixKey(), prefix = lib.langPrefix();
+        Map<String, Entry> entries = new HashMap<>();
+
+        for (String path : section.getKeys(true)) {
+            if (section.isConfigurationSection(path)) continue;
+
+            List<String> list = toList(section, path);
+            List<String> lines = new ArrayList<>(list.size());
+
+            for (String line : list) {
+                if (line == null || line.equals("")) continue;
+                lines.add(line.startsWith(key) ? line.replace(key, prefix) : line);
+            }
+
+            CompiledMessage[] messages = new CompiledMessage[lines.size()];
+            for (int i = 0; i < messages.length; i++)
+                messages[i] = CompiledMessage.compile(lib, lines.get(i));
+
+            entries.put(path, new Entry(lines.toArray(new String[0]), messages));
+        }
+
+        return new MessageBundle(Collections.unmodifiableMap(entries));
+    }
+
+    /**
+     * Checks if the bundle has a message path.
+     * @param path the path
+     * @return if the path exists
+     */
+    public boolean contains(@NotNull String path) {
+        return entries.containsKey(path);
+    }
+
+    /**
+     * Gets all the message paths of the bundle.
+     * @return an unmodifiable set of the paths
+     */
+    @NotNull
+    public Set<String> getPaths() {
+        return entries.keySet();
+    }
+
+    /**
+     * Gets the amount of message paths of the bundle.
+     * @return the size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the lines of a message path, with the lang prefix already replaced.
+     * @param path the path
+     * @return an unmodifiable list of the lines, empty if the path doesn't exist
+     */
+    @NotNull
+    public List<String> getLines(@NotNull String path) {
+        Entry entry = entries.get(path);
+        return entry == null ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(entry.lines));
+    }
+
+    /**
+     * Gets the compiled lines of a message path.
+     * @param path the path
+     * @return an unmodifiable list of the compiled lines, empty if the path doesn't exist
+     */
+    @NotNull
+    public List<CompiledMessage> getMessages(@NotNull String path) {
+        Entry entry = entries.get(path);
+        return entry == null ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(entry.messages));
+    }
+
+    @Override
+    public String toString() {
+        return "MessageBundle{size=" + entries.size() + "}";
+    }
+
+    /*
+     * The lines of a path and its compiled messages, with the same indexes.
+     */
+    private static final class Entry {
+
+        private final String[] lines;
+        private final CompiledMessage[] messages;
+
+        private Entry(String[] lines, CompiledMessage[] messages) {
+            this.lines = lines;
+            this.messages = messages;
+        }
+    }
+}
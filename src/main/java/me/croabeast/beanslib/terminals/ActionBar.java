@@ -5,7 +5,7 @@ import net.md_5.bungee.api.ChatMessageType;
 import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.entity.Player;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
 
 public class ActionBar implements Reflection {
 
@@ -24,17 +24,27 @@ public class ActionBar implements Reflection {
     }
 
     private GetActionBar oldActionBar() {
+        final MethodHandle serializer, constructor;
+
+        try {
+            Class<?> chat = NMSHandles.requireClass("IChatBaseComponent");
+            serializer = NMSHandles.method(chat.getDeclaredClasses()[0], "a", String.class);
+            constructor = NMSHandles.constructor(NMSHandles.requireClass("PacketPlayOutChat"), chat, byte.class);
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            return (player, message) -> {};
+        }
+
         return (player, message) -> {
             try {
-                Class<?> chat = getNMSClass("IChatBaseComponent");
-                Constructor<?> constructor = getNMSClass("PacketPlayOutChat").getConstructor(chat, byte.class);
                 message = "{\"text\":\"" + message + "\"}";
 
-                Object icbc = chat.getDeclaredClasses()[0].getMethod("a", String.class).invoke(null, message),
-                        packet = constructor.newInstance(icbc, (byte) 2);
+                Object icbc = serializer.invoke(message),
+                        packet = constructor.invoke(icbc, (byte) 2);
                 sendPacket(player, packet);
             }
-            catch (Exception e) {
+            catch (Throwable e) {
                 e.printStackTrace();
             }
         };
@@ -0,0 +1,357 @@
+package me.croabeast.beanslib.terminals;
+
+import me.croabeast.beanslib.BeansLib;
+import me.croabeast.beanslib.utilities.TextKeys;
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Keeps persistent action bars for the players, so the plugins don't need to send
+ * the same action bar again every few ticks.
+ * <p> Every player can have many action bars, each one with a key and a priority: only
+ * the bar with the highest priority is displayed, and if two bars have the same
+ * priority, the last one set wins. A bar can be persistent or last some ticks.
+ * <p> A single task checks all the players once per tick, and only while there are bars.
+ * The displayed bar is sent again before it fades, or at once if it changes. Its line is
+ * colored once, and again only if it has placeholders, at most every {@link #getRenderTicks()},
+ * and its components are only created again if the colored line changed.
+ * <p> The bars are removed and the task is stopped when the plugin is disabled.
+ * <p> All the methods should be called on the main thread.
+ */
+public final class ActionBarService {
+
+    private static final BaseComponent[] EMPTY = TextComponent.fromLegacyText("");
+
+    private final BeansLib lib;
+    private final Plugin plugin;
+
+    private final ActionBar legacy = TextKeys.majorVersion() < 11 ? new ActionBar() : null;
+    private final Map<UUID, State> states = new LinkedHashMap<>();
+
+    private BukkitTask task = null;
+    private boolean listening = false;
+
+    private long tick = 0, sequence = 0;
+    private int refreshTicks = 40, renderTicks = 20;
+
+    private long sends = 0, renders = 0;
+
+    /**
+     * Creates a new service, see {@link BeansLib#getActionBarService()}.
+     * @param lib the lib instance, to color the lines
+     * @param plugin the plugin to schedule the task
+     */
+    public ActionBarService(@NotNull BeansLib lib, @NotNull Plugin plugin) {
+        this.lib = lib;
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts the tick task and the quit listener if they are not running.
+     */
+    private void start() {
+        if (!listening) {
+            Bukkit.getPluginManager().registerEvents(new Cleaner(), plugin);
+            listening = true;
+        }
+        if (task == null) task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1, 1);
+    }
+
+    /**
+     * Sets an action bar of a player. If the key already exists, the bar is replaced.
+     * @param player the player
+     * @param key the key of the bar, like the name of the feature that displays it
+     * @param message the line, its placeholders and colors are parsed by the lib
+     * @param priority the priority, the highest one is displayed
+     * @param ticks the ticks to display it, or 0 or less to keep it until it's removed
+     */
+    public void set(@NotNull Player player, @NotNull String key, @NotNull String message, int priority, int ticks) {
+        State state = states.computeIfAbsent(player.getUniqueId(), k -> new State(player));
+        long expiry = ticks > 0 ? tick + ticks : -1;
+
+        Entry entry = state.entries.get(key);
+        // The same bar set again keeps its rendered line, so it's not sent again.
+        if (entry != null && entry.message.equals(message) && entry.priority == priority) {
+            entry.expiry = expiry;
+            entry.sequence = sequence++;
+        }
+        else state.entries.put(key, new Entry(key, message, priority, expiry, sequence++));
+
+        state.select();
+        start();
+    }
+
+    /**
+     * Sets a persistent action bar of a player. If the key already exists, the bar is replaced.
+     * @param player the player
+     * @param key the key of the bar, like the name of the feature that displays it
+     * @param message the line, its placeholders and colors are parsed by the lib
+     * @param priority the priority, the highest one is displayed
+     */
+    public void set(@NotNull Player player, @NotNull String key, @NotNull String message, int priority) {
+        set(player, key, message, priority, 0);
+    }
+
+    /**
+     * Removes an action bar of a player.
+     * @param player the player
+     * @param key the key of the bar
+     * @return if the bar was removed
+     */
+    public boolean remove(@NotNull Player player, @NotNull String key) {
+        State state = states.get(player.getUniqueId());
+        if (state == null || state.entries.remove(key) == null) return false;
+
+        state.select();
+        return true;
+    }
+
+    /**
+     * Removes all the action bars of a player. The displayed bar is cleared on the next tick.
+     * @param player the player
+     */
+    public void clear(@NotNull Player player) {
+        State state = states.get(player.getUniqueId());
+        if (state == null) return;
+
+        state.entries.clear();
+        state.select();
+    }
+
+    /**
+     * Gets the line of the displayed action bar of a player.
+     * @param player the player
+     * @return the line without parsing, or null if it doesn't have any bar
+     */
+    @Nullable
+    public String getMessage(@NotNull Player player) {
+        State state = states.get(player.getUniqueId());
+        return state == null || state.winner == null ? null : state.winner.message;
+    }
+
+    /**
+     * Gets the key of the displayed action bar of a player.
+     * @param player the player
+     * @return the key, or null if it doesn't have any bar
+     */
+    @Nullable
+    public String getKey(@NotNull Player player) {
+        State state = states.get(player.getUniqueId());
+        return state == null || state.winner == null ? null : state.winner.key;
+    }
+
+    /**
+     * Displays the bars, sending them only if they changed or before they fade.
+     */
+    private void tick() {
+        tick++;
+        Iterator<State> iterator = states.values().iterator();
+
+        while (iterator.hasNext()) {
+            State state = iterator.next();
+            state.expire();
+
+            Entry entry = state.winner;
+            if (entry == null) {
+                if (state.shown != null) send(state.player, "", EMPTY);
+                iterator.remove();
+                continue;
+            }
+
+            boolean changed = false;
+            if (entry.line == null || (entry.dynamic && tick >= entry.nextRender)) {
+                String line = lib.colorize(state.player, entry.message);
+                entry.nextRender = tick + renderTicks;
+                renders++;
+
+                if (!line.equals(entry.line)) {
+                    entry.line = line;
+                    entry.components = null;
+                    changed = true;
+                }
+            }
+
+            if (!changed && state.shown == entry && tick < state.nextSend) continue;
+
+            if (entry.components == null) entry.components = TextComponent.fromLegacyText(entry.line);
+            send(state.player, entry.line, entry.components);
+
+            state.shown = entry;
+            state.nextSend = tick + refreshTicks;
+        }
+
+        if (states.isEmpty() && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Sends an action bar to a player.
+     * @param player the player
+     * @param line the colored line
+     * @param components the components of the line
+     */
+    private void send(Player player, String line, BaseComponent[] components) {
+        if (legacy != null) legacy.getMethod().send(player, line);
+        else player.spigot().sendMessage(ChatMessageType.ACTION_BAR, components);
+        sends++;
+    }
+
+    /**
+     * Sets the ticks to send the displayed bar again, before it fades. The default is 40 ticks.
+     * @param ticks the ticks
+     */
+    public void setRefreshTicks(int ticks) {
+        refreshTicks = Math.max(1, ticks);
+    }
+
+    /**
+     * Gets the ticks to send the displayed bar again.
+     * @return the refresh ticks
+     */
+    public int getRefreshTicks() {
+        return refreshTicks;
+    }
+
+    /**
+     * Sets the ticks to parse the placeholders of the displayed bar again. The default is 20 ticks.
+     * @param ticks the ticks
+     */
+    public void setRenderTicks(int ticks) {
+        renderTicks = Math.max(1, ticks);
+    }
+
+    /**
+     * Gets the ticks to parse the placeholders of the displayed bar again.
+     * @return the render ticks
+     */
+    public int getRenderTicks() {
+        return renderTicks;
+    }
+
+    /**
+     * Gets the amount of players with action bars.
+     * @return the players count
+     */
+    public int size() {
+        return states.size();
+    }
+
+    /**
+     * Gets the amount of sent action bars.
+     * @return the sends
+     */
+    public long getSends() {
+        return sends;
+    }
+
+    /**
+     * Gets the amount of colored lines.
+     * @return the renders
+     */
+    public long getRenders() {
+        return renders;
+    }
+
+    /**
+     * Stops the task and removes all the bars, without clearing the displayed ones.
+     */
+    public void shutdown() {
+        states.clear();
+        if (task == null) return;
+
+        task.cancel();
+        task = null;
+    }
+
+    /*
+     * The action bars of a player and the displayed one.
+     */
+    private final class State {
+
+        private final Player player;
+        private final Map<String, Entry> entries = new HashMap<>();
+
+        private Entry winner = null, shown = null;
+        private long nextSend = 0;
+
+        private State(Player player) {
+            this.player = player;
+        }
+
+        private void select() {
+            Entry best = null;
+
+            for (Entry e : entries.values())
+                if (best == null || e.priority > best.priority ||
+                        (e.priority == best.priority && e.sequence > best.sequence)) best = e;
+
+            winner = best;
+        }
+
+        private void expire() {
+            if (entries.values().removeIf(e -> e.expiry != -1 && e.expiry <= tick)) select();
+        }
+    }
+
+    /*
+     * An action bar, with its last colored line and components.
+     */
+    private static final class Entry {
+
+        private final String key, message;
+        private final int priority;
+        private final boolean dynamic;
+
+        private long expiry, sequence;
+
+        private String line = null;
+        private BaseComponent[] components = null;
+        private long nextRender = 0;
+
+        private Entry(String key, String message, int priority, long expiry, long sequence) {
+            this.key = key;
+            this.message = message;
+            this.priority = priority;
+            this.expiry = expiry;
+            this.sequence = sequence;
+
+            dynamic = message.indexOf('%') >= 0;
+        }
+    }
+
+    /*
+     * Removes the bars of the players that quit, and stops the service when its plugin is disabled.
+     */
+    private final class Cleaner implements Listener {
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onQuit(PlayerQuitEvent event) {
+            states.remove(event.getPlayer().getUniqueId());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onDisable(PluginDisableEvent event) {
+            if (event.getPlugin() != plugin) return;
+
+            shutdown();
+            // The plugin's listeners are unregistered when it's disabled.
+            listening = false;
+        }
+    }
+}
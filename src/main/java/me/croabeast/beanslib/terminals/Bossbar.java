@@ -5,7 +5,6 @@ import org.bukkit.*;
 import org.bukkit.boss.*;
 import org.bukkit.entity.*;
 import org.bukkit.plugin.java.*;
-import org.bukkit.scheduler.*;
 import org.jetbrains.annotations.*;
 
 import java.util.*;
@@ -26,9 +25,99 @@ public class Bossbar {
     private Integer time = null;
     private Boolean progress = null;
 
-    protected final Pattern PATTERN = Pattern.compile("(?i)(\\[bossbar(:.+)?])(.+)");
+    private BossbarScheduler.Task task = null;
+    private SharedBossbar shared = null;
+
+    /**
+     * A view of the newest bukkit bossbar of every player, backed by the {@link BossbarRegistry}.
+     * <p> Removing a player unregisters all its bossbars, and clearing it unregisters all the
+     * bossbars. The bossbars are only added when they are displayed, so {@link Map#put(Object, Object)}
+     * throws an {@link UnsupportedOperationException}.
+     * @deprecated use the {@link BossbarRegistry} to get all the bossbars of a player
+     */
+    @Deprecated
+    protected static Map<Player, BossBar> bossbarMap = new AbstractMap<Player, BossBar>() {
+        @Override
+        public BossBar get(Object key) {
+            return key instanceof Player ? getBossbar((Player) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public BossBar put(Player key, BossBar value) {
+            throw new UnsupportedOperationException("Bossbars are added when they are displayed");
+        }
+
+        @Override
+        public BossBar remove(Object key) {
+            BossBar bar = get(key);
+            if (bar != null) BossbarRegistry.removeAll((Player) key);
+            return bar;
+        }
+
+        @Override
+        public void clear() {
+            BossbarRegistry.clear();
+        }
+
+        @NotNull
+        @Override
+        public Set<Entry<Player, BossBar>> entrySet() {
+            return entries;
+        }
 
-    protected static Map<Player, BossBar> bossbarMap = new HashMap<>();
+        private final Set<Entry<Player, BossBar>> entries = new AbstractSet<Entry<Player, BossBar>>() {
+            @NotNull
+            @Override
+            public Iterator<Entry<Player, BossBar>> iterator() {
+                Iterator<Bossbar> bossbars = BossbarRegistry.latest();
+
+                return new Iterator<Entry<Player, BossBar>>() {
+                    private Entry<Player, BossBar> next = null, last = null;
+
+                    @Override
+                    public boolean hasNext() {
+                        while (next == null && bossbars.hasNext()) {
+                            Bossbar bossbar = bossbars.next();
+                            BossBar bar = bossbar.getBar();
+                            if (bar != null) next = new SimpleImmutableEntry<>(bossbar.getPlayer(), bar);
+                        }
+                        return next != null;
+                    }
+
+                    @Override
+                    public Entry<Player, BossBar> next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+
+                        last = next;
+                        next = null;
+                        return last;
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last == null) throw new IllegalStateException();
+
+                        BossbarRegistry.removeAll(last.getKey());
+                        last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (Iterator<?> it = iterator(); it.hasNext(); it.next()) size++;
+                return size;
+            }
+        };
+    };
+
+    protected final Pattern PATTERN = Pattern.compile("(?i)(\\[bossbar(:.+)?])(.+)");
 
     /**
      * Bossbar message constructor if using the PATTERN
@@ -161,62 +250,127 @@ public class Bossbar {
      * Unregisters the bossbar from the player.
      */
     public void unregister() {
-        bar.removePlayer(player);
-        bossbarMap.remove(player);
+        if (task != null) task.cancel();
+        task = null;
+
+        if (bar == null) return;
+
+        if (shared != null) {
+            SharedBossbar s = shared;
+            shared = null;
+            s.release(this);
+        }
+        else bar.removePlayer(player);
+
+        BossbarRegistry.remove(this);
         bar = null;
     }
 
     /**
      * Animates the bossbar when the progress is enabled.
+     * <p> The progress is updated by the {@link BossbarScheduler} of the plugin.
      */
     public void animate() {
-        double time = 1.0D / this.time;
-        double[] percentage = {1.0D};
-
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                bar.setProgress(percentage[0]);
-                if (percentage[0] > 0.0)
-                    percentage[0] -= time;
-
-                if (percentage[0] <= 0.0) {
-                    unregister();
-                    cancel();
-                }
-            }
-        }.runTaskTimer(plugin, 0, 0);
+        task = BossbarScheduler.of(plugin).animate(bar, time, this::unregister);
     }
 
     /**
      * Displays the bossbar message to the player.
      */
     public void display() {
+        display(false);
+    }
+
+    /**
+     * Displays the bossbar message to the player.
+     * <p> If it's shared, the player is added to the same bukkit bossbar of the other
+     * bossbars with the same line, color, style, time and progress that were displayed
+     * in the same tick, so a broadcast creates and updates a single bar.
+     * @param share if the bukkit bossbar is shared
+     */
+    public void display(boolean share) {
+        if (share) {
+            shared = SharedBossbar.acquire(plugin, this, line, color, style, time, progress);
+            bar = shared.getBar();
+            BossbarRegistry.register(plugin, this);
+            return;
+        }
+
         bar = Bukkit.createBossBar(line, color, style);
         bar.setProgress(1.0D);
 
         bar.addPlayer(player);
         bar.setVisible(true);
-        bossbarMap.put(player, bar);
+        BossbarRegistry.register(plugin, this);
 
         if (progress && time > 0) animate();
-        else Bukkit.getScheduler().scheduleSyncDelayedTask(plugin, this::unregister, time);
+        else task = BossbarScheduler.of(plugin).schedule(time, this::unregister);
+    }
+
+    /**
+     * Gets the player that will see the bossbar.
+     * @return the player
+     */
+    @NotNull
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Gets the line of the bossbar, with its placeholders and colors parsed.
+     * @return the rendered line
+     */
+    @NotNull
+    public String getLine() {
+        return line;
     }
 
     /**
-     * Gets the bukkit bossbar object from the bossbar map.
+     * Gets the amount of shared bukkit bossbars that are displayed.
+     * @return the shared bossbars count
+     */
+    public static int getSharedBossbars() {
+        return SharedBossbar.getPoolSize();
+    }
+
+    /**
+     * Gets the plugin that displays the bossbar.
+     * @return the plugin's instance
+     */
+    @NotNull
+    public JavaPlugin getPlugin() {
+        return plugin;
+    }
+
+    /**
+     * Gets the bukkit bossbar object, if it's displayed.
+     * @return the bukkit bossbar, or null if it's not displayed
+     */
+    @Nullable
+    public BossBar getBar() {
+        return bar;
+    }
+
+    /**
+     * Gets the bukkit bossbar object of the newest bossbar of a player.
      * @param player the player that has the bossbar.
      * @return the bossbar, if the player exists or has a bossbar displayed; null otherwise
+     * @see BossbarRegistry#getBossbars(Player)
      */
     @Nullable
     public static BossBar getBossbar(Player player) {
-        return player == null ? null : bossbarMap.getOrDefault(player, null);
+        if (player == null) return null;
+
+        Bossbar bossbar = BossbarRegistry.getLatest(player.getUniqueId());
+        return bossbar == null ? null : bossbar.getBar();
     }
 
     /**
-     * Gets the bossbar map stored in cache.
+     * Gets a view of the newest bukkit bossbar of every player, see {@link #bossbarMap}.
      * @return the bossbar map
+     * @deprecated use the {@link BossbarRegistry} to get all the bossbars of a player
      */
+    @Deprecated
     public static Map<Player, BossBar> getBossbarMap() {
         return bossbarMap;
     }
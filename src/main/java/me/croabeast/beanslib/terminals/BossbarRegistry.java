@@ -0,0 +1,216 @@
+package me.croabeast.beanslib.terminals;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The registry of the displayed {@link Bossbar bossbars}, keyed by the player's UUID.
+ * <p> A player can have many bossbars at the same time. The bossbars of a player are
+ * removed when the player quits, and the bossbars of a plugin when it's disabled,
+ * so the registry doesn't keep references of offline players.
+ * <p> The lookups are thread-safe, but removing bossbars should be done on the main thread.
+ */
+public final class BossbarRegistry {
+
+    private static final Map<UUID, List<Bossbar>> BARS = new ConcurrentHashMap<>();
+    private static final Set<Plugin> LISTENING = ConcurrentHashMap.newKeySet();
+
+    private BossbarRegistry() {}
+
+    /**
+     * Registers a displayed bossbar, and the quit listener of its plugin if needed.
+     * @param plugin the plugin's instance
+     * @param bossbar the bossbar
+     */
+    static void register(Plugin plugin, Bossbar bossbar) {
+        if (LISTENING.add(plugin))
+            Bukkit.getPluginManager().registerEvents(new Cleaner(plugin), plugin);
+
+        BARS.computeIfAbsent(bossbar.getPlayer().getUniqueId(),
+                k -> new CopyOnWriteArrayList<>()).add(bossbar);
+    }
+
+    /**
+     * Removes a bossbar from the registry, without unregistering it.
+     * @param bossbar the bossbar
+     */
+    static void remove(Bossbar bossbar) {
+        BARS.computeIfPresent(bossbar.getPlayer().getUniqueId(), (k, list) -> {
+            list.remove(bossbar);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    /**
+     * Gets the displayed bossbars of a player, from the oldest to the newest.
+     * @param uuid the player's UUID
+     * @return an unmodifiable copy of the bossbars, empty if it doesn't have any
+     */
+    @NotNull
+    public static List<Bossbar> getBossbars(@NotNull UUID uuid) {
+        List<Bossbar> list = BARS.get(uuid);
+        return list == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
+    /**
+     * Gets the displayed bossbars of a player, from the oldest to the newest.
+     * @param player the player
+     * @return an unmodifiable copy of the bossbars, empty if it doesn't have any
+     */
+    @NotNull
+    public static List<Bossbar> getBossbars(@NotNull Player player) {
+        return getBossbars(player.getUniqueId());
+    }
+
+    /**
+     * Gets the newest displayed bossbar of a player.
+     * @param uuid the player's UUID
+     * @return the bossbar, or null if it doesn't have any
+     */
+    @Nullable
+    public static Bossbar getLatest(@NotNull UUID uuid) {
+        List<Bossbar> list = getBossbars(uuid);
+        return list.isEmpty() ? null : list.get(list.size() - 1);
+    }
+
+    /**
+     * Gets the UUIDs of the players with displayed bossbars.
+     * @return an unmodifiable copy of the UUIDs
+     */
+    @NotNull
+    public static Set<UUID> getPlayers() {
+        return Collections.unmodifiableSet(new HashSet<>(BARS.keySet()));
+    }
+
+    /**
+     * Gets the newest displayed bossbar of every player, without copying the registry.
+     * @return a read-only iterator of the bossbars
+     */
+    static Iterator<Bossbar> latest() {
+        Iterator<List<Bossbar>> lists = BARS.values().iterator();
+
+        return new Iterator<Bossbar>() {
+            private Bossbar next = null;
+
+            @Override
+            public boolean hasNext() {
+                // The lists are copy-on-write, so iterating one is safe if a bossbar is removed.
+                while (next == null && lists.hasNext())
+                    for (Bossbar bossbar : lists.next()) next = bossbar;
+                return next != null;
+            }
+
+            @Override
+            public Bossbar next() {
+                if (!hasNext()) throw new NoSuchElementException();
+
+                Bossbar bossbar = next;
+                next = null;
+                return bossbar;
+            }
+        };
+    }
+
+    /**
+     * Gets the amount of displayed bossbars of all the players.
+     * @return the bossbars count
+     */
+    public static int size() {
+        int size = 0;
+        for (List<Bossbar> list : BARS.values()) size += list.size();
+        return size;
+    }
+
+    /**
+     * Unregisters some bossbars.
+     * @param bossbars the bossbars
+     * @return the amount of unregistered bossbars
+     */
+    private static int unregister(Collection<Bossbar> bossbars) {
+        for (Bossbar bossbar : bossbars) bossbar.unregister();
+        return bossbars.size();
+    }
+
+    /**
+     * Unregisters all the bossbars of a player.
+     * @param uuid the player's UUID
+     * @return the amount of unregistered bossbars
+     */
+    public static int removeAll(@NotNull UUID uuid) {
+        List<Bossbar> list = BARS.remove(uuid);
+        return list == null ? 0 : unregister(list);
+    }
+
+    /**
+     * Unregisters all the bossbars of a player.
+     * @param player the player
+     * @return the amount of unregistered bossbars
+     */
+    public static int removeAll(@NotNull Player player) {
+        return removeAll(player.getUniqueId());
+    }
+
+    /**
+     * Unregisters all the bossbars displayed by a plugin.
+     * @param plugin the plugin's instance
+     * @return the amount of unregistered bossbars
+     */
+    public static int removeAll(@NotNull Plugin plugin) {
+        List<Bossbar> removed = new ArrayList<>();
+
+        for (List<Bossbar> list : BARS.values())
+            for (Bossbar bossbar : list)
+                if (bossbar.getPlugin() == plugin) removed.add(bossbar);
+
+        return unregister(removed);
+    }
+
+    /**
+     * Unregisters all the bossbars of all the players.
+     * @return the amount of unregistered bossbars
+     */
+    public static int clear() {
+        List<Bossbar> removed = new ArrayList<>();
+        for (List<Bossbar> list : BARS.values()) removed.addAll(list);
+
+        BARS.clear();
+        return unregister(removed);
+    }
+
+    /*
+     * Removes the bossbars of the players that quit and of the disabled plugin.
+     */
+    private static final class Cleaner implements Listener {
+
+        private final Plugin plugin;
+
+        private Cleaner(Plugin plugin) {
+            this.plugin = plugin;
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onQuit(PlayerQuitEvent event) {
+            removeAll(event.getPlayer());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onDisable(PluginDisableEvent event) {
+            if (event.getPlugin() != plugin) return;
+
+            removeAll(plugin);
+            LISTENING.remove(plugin);
+        }
+    }
+}
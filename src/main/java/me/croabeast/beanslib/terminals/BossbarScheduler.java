@@ -0,0 +1,303 @@
+package me.croabeast.beanslib.terminals;
+
+import org.bukkit.Bukkit;
+import org.bukkit.boss.BossBar;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A single tick task that handles the progress and expiry of all the bossbars of a plugin,
+ * instead of a scheduled task for every bar.
+ * <p> The bars are stored in a heap sorted by its expiry tick, so the expired bars are
+ * removed in bulk, and the animated bars update its progress in a single pass.
+ * The task only runs while there are active bars. All the methods should be called
+ * on the main thread.
+ * <p> The scheduler of a plugin is removed when the plugin is disabled, so a reloaded
+ * plugin gets a new scheduler.
+ */
+public final class BossbarScheduler {
+
+    private static final Map<Plugin, BossbarScheduler> SCHEDULERS = new ConcurrentHashMap<>();
+
+    private final Plugin plugin;
+
+    private final PriorityQueue<Task> expiries = new PriorityQueue<>();
+    private final List<Task> animated = new ArrayList<>();
+
+    private BukkitTask task = null;
+
+    private long tick = 0, sequence = 0;
+    private int active = 0, animatedActive = 0;
+
+    private long lastTickNanos = 0, totalNanos = 0, runs = 0;
+
+    private BossbarScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Gets the scheduler of a plugin, creating it if it doesn't exist.
+     * @param plugin the plugin
+     * @return the scheduler
+     */
+    @NotNull
+    public static BossbarScheduler of(@NotNull Plugin plugin) {
+        return SCHEDULERS.computeIfAbsent(plugin, p -> {
+            BossbarScheduler scheduler = new BossbarScheduler(p);
+            Bukkit.getPluginManager().registerEvents(scheduler.new Cleaner(), p);
+            return scheduler;
+        });
+    }
+
+    /**
+     * Starts the tick task if it's not running.
+     */
+    private void start() {
+        if (task == null) task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1, 1);
+    }
+
+    /**
+     * Adds a new task to the heap.
+     * @param bar the bar to animate, or null if it's not animated
+     * @param ticks the ticks before it expires
+     * @param onExpire the action to run when it expires
+     * @return the scheduled task
+     */
+    private Task add(BossBar bar, long ticks, Runnable onExpire) {
+        Task t = new Task(bar, tick + ticks, sequence++, onExpire, ticks);
+
+        expiries.add(t);
+        if (bar != null) {
+            animated.add(t);
+            animatedActive++;
+        }
+
+        active++;
+        start();
+        return t;
+    }
+
+    /**
+     * Runs an action after some ticks, like a delayed task.
+     * @param ticks the ticks to wait
+     * @param onExpire the action
+     * @return the scheduled task
+     */
+    @NotNull
+    public Task schedule(int ticks, @NotNull Runnable onExpire) {
+        return add(null, Math.max(0, ticks), onExpire);
+    }
+
+    /**
+     * Decreases the progress of a bar every tick, from 1 to 0, and runs an action when it ends.
+     * @param bar the bar
+     * @param ticks the ticks of the animation, it should be positive
+     * @param onExpire the action
+     * @return the scheduled task
+     */
+    @NotNull
+    public Task animate(@NotNull BossBar bar, int ticks, @NotNull Runnable onExpire) {
+        double step = 1.0D / ticks, percentage = 1.0D;
+        int updates = 0;
+
+        // The same steps of the progress, to know the tick of the last update.
+        do {
+            updates++;
+            if (percentage > 0.0) percentage -= step;
+        } while (percentage > 0.0);
+
+        Task t = add(bar, updates, onExpire);
+        t.step = step;
+        return t;
+    }
+
+    /**
+     * Updates the progress of the animated bars and expires the ended tasks.
+     */
+    private void tick() {
+        long start = System.nanoTime();
+        tick++;
+
+        Iterator<Task> iterator = animated.iterator();
+        while (iterator.hasNext()) {
+            Task t = iterator.next();
+            if (t.cancelled) {
+                iterator.remove();
+                continue;
+            }
+
+            t.bar.setProgress(t.percentage);
+            if (t.percentage > 0.0) t.percentage -= t.step;
+        }
+
+        Task t;
+        while ((t = expiries.peek()) != null && t.expiry <= tick) {
+            expiries.poll();
+            if (t.cancelled) continue;
+
+            t.finish();
+
+            try {
+                t.onExpire.run();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+
+        if (active <= 0 && task != null) {
+            expiries.clear();
+            animated.clear();
+            animatedActive = 0;
+
+            task.cancel();
+            task = null;
+        }
+
+        lastTickNanos = System.nanoTime() - start;
+        totalNanos += lastTickNanos;
+        runs++;
+    }
+
+    /**
+     * Stops the task and cancels all the tasks, without running their actions,
+     * and removes this scheduler. It's called when the plugin is disabled.
+     */
+    private void shutdown() {
+        SCHEDULERS.remove(plugin, this);
+
+        for (Task t : expiries) t.cancelled = true;
+        expiries.clear();
+        animated.clear();
+
+        active = animatedActive = 0;
+        if (task == null) return;
+
+        task.cancel();
+        task = null;
+    }
+
+    /**
+     * Gets the current tick of this scheduler, it increases only while there are active bars.
+     * @return the current tick
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the amount of active tasks.
+     * @return the active tasks
+     */
+    public int getActiveBars() {
+        return active;
+    }
+
+    /**
+     * Gets the amount of bars with an animated progress.
+     * @return the animated bars
+     */
+    public int getAnimatedBars() {
+        return animatedActive;
+    }
+
+    /**
+     * Gets the nanoseconds that the last tick took.
+     * @return the last tick's cost
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * Gets the average nanoseconds of every tick.
+     * @return the average tick's cost
+     */
+    public double getAverageTickNanos() {
+        return runs == 0 ? 0 : (double) totalNanos / runs;
+    }
+
+    /*
+     * Removes the scheduler when its plugin is disabled.
+     */
+    private final class Cleaner implements Listener {
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onDisable(PluginDisableEvent event) {
+            if (event.getPlugin() == plugin) shutdown();
+        }
+    }
+
+    /**
+     * A scheduled bossbar task.
+     */
+    public final class Task implements Comparable<Task> {
+
+        private final BossBar bar;
+        private final long expiry, order;
+        private final Runnable onExpire;
+        private final long ticks;
+
+        private double step = 0, percentage = 1.0D;
+        private boolean cancelled = false;
+
+        private Task(BossBar bar, long expiry, long order, Runnable onExpire, long ticks) {
+            this.bar = bar;
+            this.expiry = expiry;
+            this.order = order;
+            this.onExpire = onExpire;
+            this.ticks = ticks;
+        }
+
+        /**
+         * Cancels the task, without running its action.
+         */
+        public void cancel() {
+            if (!cancelled) finish();
+        }
+
+        /**
+         * Marks the task as done and removes it from the counters. The heap and the
+         * animated list remove it on the next tick.
+         */
+        private void finish() {
+            cancelled = true;
+            active--;
+            if (bar != null) animatedActive--;
+        }
+
+        /**
+         * Checks if the task was cancelled or expired.
+         * @return if it's done
+         */
+        public boolean isDone() {
+            return cancelled;
+        }
+
+        /**
+         * Gets the ticks left before it expires.
+         * @return the remaining ticks
+         */
+        public long getRemainingTicks() {
+            return cancelled ? 0 : Math.max(0, expiry - tick);
+        }
+
+        @Override
+        public int compareTo(@NotNull Task o) {
+            int compare = Long.compare(expiry, o.expiry);
+            return compare != 0 ? compare : Long.compare(order, o.order);
+        }
+
+        @Override
+        public String toString() {
+            return "Task{ticks=" + ticks + ", remaining=" + getRemainingTicks() + "}";
+        }
+    }
+}
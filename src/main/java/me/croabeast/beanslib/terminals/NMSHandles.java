@@ -0,0 +1,180 @@
+package me.croabeast.beanslib.terminals;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The cache of the resolved NMS classes and handles, so the packet senders don't
+ * use reflective lookups on every packet.
+ * <p> The classes are resolved once by its name, and the player handle, connection
+ * and <code>sendPacket</code> handles once by the class of the object that owns them.
+ */
+public final class NMSHandles {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+    private static volatile String version = null;
+
+    private static final Map<String, Optional<Class<?>>> CLASSES = new ConcurrentHashMap<>();
+
+    private static final Map<Class<?>, MethodHandle>
+            HANDLES = new ConcurrentHashMap<>(), CONNECTIONS = new ConcurrentHashMap<>(),
+            SENDERS = new ConcurrentHashMap<>();
+
+    private NMSHandles() {}
+
+    /**
+     * Gets the NMS version of the server, like <code>v1_8_R3</code>.
+     * @return the NMS version
+     */
+    @NotNull
+    public static String getVersion() {
+        String v = version;
+        if (v == null)
+            version = v = Bukkit.getServer().getClass().getPackage().getName().split("\\.")[3];
+        return v;
+    }
+
+    /**
+     * Gets a NMS class by its simple name, resolving it only the first time.
+     * @param name the class name, like <code>PacketPlayOutChat</code>
+     * @return the class, or null if it doesn't exist
+     */
+    @Nullable
+    public static Class<?> getNMSClass(@NotNull String name) {
+        return CLASSES.computeIfAbsent(name, n -> {
+            try {
+                return Optional.of(Class.forName("net.minecraft.server." + getVersion() + "." + n));
+            } catch (ClassNotFoundException e) {
+                e.printStackTrace();
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * Gets a NMS class by its simple name, throwing an exception if it doesn't exist.
+     * @param name the class name
+     * @return the class
+     * @throws ClassNotFoundException if the class doesn't exist
+     */
+    @NotNull
+    public static Class<?> requireClass(@NotNull String name) throws ClassNotFoundException {
+        Class<?> clazz = getNMSClass(name);
+        if (clazz == null) throw new ClassNotFoundException(name);
+        return clazz;
+    }
+
+    /**
+     * Gets a cached handle of an owner class, resolving it only the first time.
+     * @param map the handle map
+     * @param owner the owner class
+     * @param resolver the function to resolve the handle
+     * @return the handle
+     * @throws ReflectiveOperationException if the handle can't be resolved
+     */
+    private static MethodHandle cached(Map<Class<?>, MethodHandle> map, Class<?> owner, Resolver resolver)
+            throws ReflectiveOperationException {
+        MethodHandle handle = map.get(owner);
+        if (handle != null) return handle;
+
+        handle = resolver.resolve(owner);
+        map.put(owner, handle);
+        return handle;
+    }
+
+    /**
+     * Gets the NMS entity of a player.
+     * @param player a player
+     * @return the NMS player
+     * @throws Throwable if the handle can't be resolved or invoked
+     */
+    @NotNull
+    public static Object getHandle(@NotNull Player player) throws Throwable {
+        return cached(HANDLES, player.getClass(),
+                c -> LOOKUP.unreflect(c.getMethod("getHandle"))).invoke(player);
+    }
+
+    /**
+     * Sends a NMS packet to a player.
+     * @param player a player
+     * @param packet the NMS packet
+     * @throws Throwable if the handles can't be resolved or invoked
+     */
+    public static void sendPacket(@NotNull Player player, @NotNull Object packet) throws Throwable {
+        sendPackets(player, packet);
+    }
+
+    /**
+     * Sends many NMS packets to a player, in order. The player connection
+     * is resolved only once for all the packets.
+     * @param player a player
+     * @param packets the NMS packets
+     * @throws Throwable if the handles can't be resolved or invoked
+     */
+    public static void sendPackets(@NotNull Player player, @NotNull Object... packets) throws Throwable {
+        Object handle = getHandle(player);
+
+        Object connection = cached(CONNECTIONS, handle.getClass(),
+                c -> LOOKUP.unreflectGetter(c.getField("playerConnection"))).invoke(handle);
+
+        MethodHandle sender = cached(SENDERS, connection.getClass(),
+                c -> LOOKUP.unreflect(c.getMethod("sendPacket", requireClass("Packet"))));
+
+        for (Object packet : packets) sender.invoke(connection, packet);
+    }
+
+    /**
+     * Gets the handle of a public constructor.
+     * @param clazz the class
+     * @param parameters the parameter types
+     * @return the constructor handle
+     * @throws ReflectiveOperationException if the constructor doesn't exist
+     */
+    @NotNull
+    public static MethodHandle constructor(@NotNull Class<?> clazz, Class<?>... parameters)
+            throws ReflectiveOperationException {
+        return LOOKUP.unreflectConstructor(clazz.getConstructor(parameters));
+    }
+
+    /**
+     * Gets the handle of a public method.
+     * @param clazz the class
+     * @param name the method name
+     * @param parameters the parameter types
+     * @return the method handle
+     * @throws ReflectiveOperationException if the method doesn't exist
+     */
+    @NotNull
+    public static MethodHandle method(@NotNull Class<?> clazz, @NotNull String name, Class<?>... parameters)
+            throws ReflectiveOperationException {
+        return LOOKUP.unreflect(clazz.getMethod(name, parameters));
+    }
+
+    /**
+     * Gets the value of a public static field, like an enum constant.
+     * @param clazz the class
+     * @param name the field name
+     * @return the field value
+     * @throws ReflectiveOperationException if the field doesn't exist
+     */
+    public static Object staticField(@NotNull Class<?> clazz, @NotNull String name)
+            throws ReflectiveOperationException {
+        return clazz.getField(name).get(null);
+    }
+
+    /*
+     * Resolves a handle from its owner class.
+     */
+    private interface Resolver {
+        MethodHandle resolve(Class<?> owner) throws ReflectiveOperationException;
+    }
+}
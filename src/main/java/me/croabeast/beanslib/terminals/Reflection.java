@@ -1,29 +1,19 @@
 package me.croabeast.beanslib.terminals;
 
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 public interface Reflection {
 
     default void sendPacket(Player player, Object packet) {
         try {
-            Object handler  = player.getClass().getMethod("getHandle").invoke(player),
-                    connect = handler.getClass().getField("playerConnection").get(handler);
-            connect.getClass().getMethod("sendPacket", getNMSClass("Packet")).invoke(connect, packet);
+            NMSHandles.sendPacket(player, packet);
         }
-        catch (Exception e) {
+        catch (Throwable e) {
             e.printStackTrace();
         }
     }
 
     default Class<?> getNMSClass(String name) {
-        String version = Bukkit.getServer().getClass().getPackage().getName().split("\\.")[3];
-        try {
-            return Class.forName("net.minecraft.server." + version + "." + name);
-        }
-        catch (ClassNotFoundException e) {
-            e.printStackTrace();
-            return null;
-        }
+        return NMSHandles.getNMSClass(name);
     }
 }
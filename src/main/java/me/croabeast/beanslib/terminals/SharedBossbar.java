@@ -0,0 +1,147 @@
+package me.croabeast.beanslib.terminals;
+
+import org.bukkit.Bukkit;
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BarStyle;
+import org.bukkit.boss.BossBar;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.*;
+
+/**
+ * A bukkit bossbar shared by all the {@link Bossbar} instances with the same rendered
+ * line, color, style, time and progress that were displayed in the same tick.
+ * <p> Every instance is a reference: the player is removed from the bar when its
+ * last reference is released, and the bar is removed when it expires or when
+ * all its references are released.
+ */
+final class SharedBossbar {
+
+    private static final Map<Key, SharedBossbar> POOL = new HashMap<>();
+
+    private final Key key;
+    private final BossBar bar;
+    private final List<Bossbar> holders = new ArrayList<>();
+
+    private final BossbarScheduler.Task task;
+
+    private SharedBossbar(Key key, BossbarScheduler scheduler) {
+        this.key = key;
+
+        bar = Bukkit.createBossBar(key.line, key.color, key.style);
+        bar.setProgress(1.0D);
+        bar.setVisible(true);
+
+        task = key.progress && key.time > 0 ?
+                scheduler.animate(bar, key.time, this::expire) :
+                scheduler.schedule(key.time, this::expire);
+    }
+
+    /**
+     * Gets the shared bar of a bossbar, creating it if it doesn't exist, and adds its player.
+     * @param plugin the plugin's instance
+     * @param holder the bossbar
+     * @param line the rendered line
+     * @param color the color
+     * @param style the style
+     * @param time the time in ticks
+     * @param progress if the progress is animated
+     * @return the shared bar
+     */
+    static SharedBossbar acquire(Plugin plugin, Bossbar holder, String line,
+                                 BarColor color, BarStyle style, int time, boolean progress) {
+        BossbarScheduler scheduler = BossbarScheduler.of(plugin);
+        Key key = new Key(plugin, line, color, style, time, progress, scheduler.getTick());
+
+        SharedBossbar shared = POOL.get(key);
+        if (shared == null) POOL.put(key, shared = new SharedBossbar(key, scheduler));
+
+        shared.holders.add(holder);
+        shared.bar.addPlayer(holder.getPlayer());
+        return shared;
+    }
+
+    /**
+     * Gets the amount of shared bars that are displayed.
+     * @return the shared bars count
+     */
+    static int getPoolSize() {
+        return POOL.size();
+    }
+
+    BossBar getBar() {
+        return bar;
+    }
+
+    /**
+     * Releases a reference of a bossbar. The bar is removed if it was the last one.
+     * @param holder the bossbar
+     */
+    void release(Bossbar holder) {
+        if (!holders.remove(holder)) return;
+
+        Player player = holder.getPlayer();
+        boolean held = false;
+
+        for (Bossbar h : holders)
+            if (h.getPlayer().getUniqueId().equals(player.getUniqueId())) {
+                held = true;
+                break;
+            }
+
+        if (!held) bar.removePlayer(player);
+        if (!holders.isEmpty()) return;
+
+        task.cancel();
+        POOL.remove(key, this);
+        bar.removeAll();
+    }
+
+    /**
+     * Unregisters all the bossbars when the shared bar expires. The last
+     * released reference removes the bar.
+     */
+    private void expire() {
+        for (Bossbar holder : new ArrayList<>(holders)) holder.unregister();
+    }
+
+    /*
+     * The content and attributes of a shared bar.
+     */
+    private static final class Key {
+
+        private final Plugin plugin;
+        private final String line;
+        private final BarColor color;
+        private final BarStyle style;
+        private final int time;
+        private final boolean progress;
+        private final long tick;
+
+        private Key(Plugin plugin, String line, BarColor color, BarStyle style, int time, boolean progress, long tick) {
+            this.plugin = plugin;
+            this.line = line;
+            this.color = color;
+            this.style = style;
+            this.time = time;
+            this.progress = progress;
+            this.tick = tick;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key k = (Key) o;
+            return time == k.time && progress == k.progress && tick == k.tick &&
+                    plugin.equals(k.plugin) && line.equals(k.line) && color == k.color && style == k.style;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(plugin, line, color, style, time, progress, tick);
+        }
+    }
+}
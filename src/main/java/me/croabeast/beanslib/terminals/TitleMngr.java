@@ -3,18 +3,20 @@ package me.croabeast.beanslib.terminals;
 import me.croabeast.beanslib.utilities.TextKeys;
 import org.bukkit.entity.Player;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
+import java.util.Collection;
+import java.util.Collections;
 
 public class TitleMngr implements Reflection {
 
-    private final GetTitle title;
+    private final boolean legacyServer = TextKeys.majorVersion() < 10;
 
-    private int in;
-    private int stay;
-    private int out;
+    private final Legacy legacy;
+    private final GetTitle title;
 
     public TitleMngr() {
-        title = TextKeys.majorVersion() < 10 ? oldTitle() : newTitle();
+        legacy = legacyServer ? resolveLegacy() : null;
+        title = legacyServer ? oldTitle() : newTitle();
     }
 
     public interface GetTitle {
@@ -25,47 +27,84 @@ public class TitleMngr implements Reflection {
         return title;
     }
 
-    private void legacyMethod(Player player, String message, boolean isTitle) {
-        try {
-            Class<?> packetClass = getNMSClass("PacketPlayOutTitle"), chatClass = getNMSClass("IChatBaseComponent"),
+    /*
+     * The resolved handles of the legacy title packets.
+     */
+    private static final class Legacy {
+
+        private final Object times, title, subtitle;
+        private final MethodHandle serializer, timedPacket, packet;
+
+        private Legacy() throws ReflectiveOperationException {
+            Class<?> packetClass = NMSHandles.requireClass("PacketPlayOutTitle"),
+                    chatClass = NMSHandles.requireClass("IChatBaseComponent"),
                     packetField = packetClass.getDeclaredClasses()[0], chatField = chatClass.getDeclaredClasses()[0];
-            
-            message = "{\"text\":\"" + message + "\"}";
-            
-            Object packetTimes = packetField.getField("TIMES").get(null);
-            Object chatMessage = chatField.getMethod("a", String.class).invoke(null, message);
-            
-            Constructor<?> subtitleConstructor = packetClass.getConstructor(packetField, chatClass, int.class, int.class, int.class);
-            Object titlePacket = subtitleConstructor.newInstance(packetTimes, chatMessage, in, stay, out);
-
-            sendPacket(player, titlePacket);
-
-            packetTimes = packetField.getField((isTitle ? "" : "SUB") + "TITLE").get(null);
-            chatMessage = chatField.getMethod("a", String.class).invoke(null, message);
-            
-            subtitleConstructor = isTitle ?
-                    packetClass.getConstructor(packetField, chatClass) :
-                    packetClass.getConstructor(packetField, chatClass, int.class, int.class, int.class);
-            
-            titlePacket = isTitle ? subtitleConstructor.newInstance(packetTimes, chatMessage) :
-                    subtitleConstructor.newInstance(packetTimes, chatMessage, Math.round((float) in / 20),
-                            Math.round((float) stay / 20), Math.round((float) out / 20));
-
-            sendPacket(player, titlePacket);
+
+            times = NMSHandles.staticField(packetField, "TIMES");
+            title = NMSHandles.staticField(packetField, "TITLE");
+            subtitle = NMSHandles.staticField(packetField, "SUBTITLE");
+
+            serializer = NMSHandles.method(chatField, "a", String.class);
+            timedPacket = NMSHandles.constructor(packetClass, packetField, chatClass, int.class, int.class, int.class);
+            packet = NMSHandles.constructor(packetClass, packetField, chatClass);
+        }
+
+        /**
+         * Creates the TIMES, TITLE and SUBTITLE packets, serializing each message once.
+         */
+        private Object[] packets(String title, String subtitle, int in, int stay, int out) throws Throwable {
+            Object titleChat = serializer.invoke("{\"text\":\"" + title + "\"}"),
+                    subtitleChat = serializer.invoke("{\"text\":\"" + subtitle + "\"}");
+
+            return new Object[] {
+                    timedPacket.invoke(times, titleChat, in, stay, out),
+                    packet.invoke(this.title, titleChat),
+                    packet.invoke(this.subtitle, subtitleChat)
+            };
+        }
+    }
+
+    private static Legacy resolveLegacy() {
+        try {
+            return new Legacy();
         }
         catch (Exception e) {
             e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Sends a title to many players. On legacy servers, the packets are created once
+     * and the same packets are sent to every player.
+     * @param players the players
+     * @param title the title
+     * @param subtitle the subtitle
+     * @param in the fadeIn number in ticks
+     * @param stay the stay number in ticks
+     * @param out the fadeOut number in ticks
+     */
+    public void send(Collection<? extends Player> players, String title, String subtitle, int in, int stay, int out) {
+        if (players.isEmpty()) return;
+
+        if (!legacyServer) {
+            for (Player player : players) player.sendTitle(title, subtitle, in, stay, out);
+            return;
+        }
+        if (legacy == null) return;
+
+        try {
+            Object[] packets = legacy.packets(title, subtitle, in, stay, out);
+            for (Player player : players) NMSHandles.sendPackets(player, packets);
+        }
+        catch (Throwable e) {
+            e.printStackTrace();
         }
     }
 
     private GetTitle oldTitle() {
-        return (player, title, subtitle, in, stay, out) -> {
-            this.in = in;
-            this.stay = stay;
-            this.out = out;
-            legacyMethod(player, title, true);
-            legacyMethod(player, subtitle, false);
-        };
+        return (player, title, subtitle, in, stay, out) ->
+                send(Collections.singletonList(player), title, subtitle, in, stay, out);
     }
 
     private GetTitle newTitle() {
@@ -0,0 +1,234 @@
+package me.croabeast.beanslib.utilities;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * A case-insensitive replacer of many keys, built once from a key set.
+ * <p> It uses an Aho-Corasick automaton over the case-folded keys, so all the keys
+ * are found in a single scan of the line. Every occurrence of every key is replaced,
+ * with any casing. If two keys overlap, the key that starts first wins, and if they
+ * start at the same char, the longest one.
+ * <p> The replaced values are not scanned again, and it's thread-safe.
+ */
+public final class KeyReplacer {
+
+    private final String[] keys;
+
+    // Trie nodes: sorted transition chars and its target nodes.
+    private final char[][] chars;
+    private final int[][] targets;
+
+    private final int[] fail, depth;
+    // The index of the key that ends in a node, and the next node with a key in the fail chain.
+    private final int[] output, dictionary;
+
+    private KeyReplacer(String[] keys) {
+        this.keys = keys;
+
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> depths = new ArrayList<>(), outputs = new ArrayList<>();
+
+        trie.add(new TreeMap<>());
+        depths.add(0);
+        outputs.add(-1);
+
+        for (int k = 0; k < keys.length; k++) {
+            String key = keys[k];
+            if (key == null || key.isEmpty()) continue;
+
+            int node = 0;
+            for (int i = 0; i < key.length(); i++) {
+                char c = fold(key.charAt(i));
+                Integer next = trie.get(node).get(c);
+
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(node).put(c, next);
+
+                    trie.add(new TreeMap<>());
+                    depths.add(i + 1);
+                    outputs.add(-1);
+                }
+                node = next;
+            }
+
+            // Duplicated keys: the first one wins.
+            if (outputs.get(node) == -1) outputs.set(node, k);
+        }
+
+        int size = trie.size();
+
+        chars = new char[size][];
+        targets = new int[size][];
+        fail = new int[size];
+        depth = new int[size];
+        output = new int[size];
+        dictionary = new int[size];
+
+        for (int n = 0; n < size; n++) {
+            Map<Character, Integer> map = trie.get(n);
+            chars[n] = new char[map.size()];
+            targets[n] = new int[map.size()];
+
+            int i = 0;
+            for (Map.Entry<Character, Integer> e : map.entrySet()) {
+                chars[n][i] = e.getKey();
+                targets[n][i++] = e.getValue();
+            }
+
+            depth[n] = depths.get(n);
+            output[n] = outputs.get(n);
+        }
+
+        Deque<Integer> queue = new ArrayDeque<>();
+        dictionary[0] = -1;
+
+        for (int child : targets[0]) {
+            fail[child] = 0;
+            dictionary[child] = -1;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+
+            for (int i = 0; i < chars[node].length; i++) {
+                char c = chars[node][i];
+                int child = targets[node][i];
+
+                int f = fail[node];
+                while (f != 0 && next(f, c) == -1) f = fail[f];
+
+                int target = next(f, c);
+                fail[child] = target == -1 || target == child ? 0 : target;
+
+                int link = fail[child];
+                dictionary[child] = output[link] != -1 ? link : dictionary[link];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Creates a replacer for a key set.
+     * @param keys the keys, the null or empty keys are ignored
+     * @return the replacer
+     */
+    @NotNull
+    public static KeyReplacer of(@NotNull String... keys) {
+        return new KeyReplacer(keys.clone());
+    }
+
+    /**
+     * Folds the case of a char, so the keys are case-insensitive.
+     * @param c a char
+     * @return the folded char
+     */
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Gets the node of a transition.
+     * @param node the node
+     * @param c the folded char
+     * @return the target node, or -1 if it doesn't exist
+     */
+    private int next(int node, char c) {
+        char[] array = chars[node];
+        int index = Arrays.binarySearch(array, c);
+        return index < 0 ? -1 : targets[node][index];
+    }
+
+    /**
+     * Gets the keys of this replacer.
+     * @return a copy of the keys
+     */
+    @NotNull
+    public String[] getKeys() {
+        return keys.clone();
+    }
+
+    /**
+     * Finds the first key of a line: the leftmost one, and the longest if many start
+     * at the same char.
+     * @param line the line
+     * @param from the index to start searching
+     * @param result an array to store the start index and the key index
+     * @return if a key was found
+     */
+    private boolean find(String line, int from, int[] result) {
+        int state = 0, start = -1, key = -1, length = 0;
+
+        for (int j = from; j < line.length(); j++) {
+            char c = fold(line.charAt(j));
+
+            int next;
+            while ((next = next(state, c)) == -1 && state != 0) state = fail[state];
+            state = next == -1 ? 0 : next;
+
+            // No match starting at or before the best one can end later.
+            if (start != -1 && j - depth[state] + 1 > start) break;
+
+            for (int n = output[state] != -1 ? state : dictionary[state]; n != -1; n = dictionary[n]) {
+                int len = depth[n], s = j - len + 1;
+
+                if (start == -1 || s < start || (s == start && len > length)) {
+                    start = s;
+                    key = output[n];
+                    length = len;
+                }
+            }
+        }
+
+        if (start == -1) return false;
+
+        result[0] = start;
+        result[1] = key;
+        return true;
+    }
+
+    /**
+     * Checks if a line has any of the keys.
+     * @param line the line
+     * @return if it has a key
+     */
+    public boolean containsAny(@NotNull String line) {
+        return find(line, 0, new int[2]);
+    }
+
+    /**
+     * Replaces all the keys of a line with its respective values.
+     * @param line the line
+     * @param values the values, with the same indexes of the keys; if a value is null,
+     *               its key is not replaced
+     * @return the replaced line
+     */
+    @NotNull
+    public String replace(@NotNull String line, @Nullable String[] values) {
+        if (values == null || chars[0].length == 0) return line;
+
+        int[] result = new int[2];
+        StringBuilder builder = null;
+        int from = 0, copied = 0;
+
+        while (from < line.length() && find(line, from, result)) {
+            int start = result[0], index = result[1], end = start + keys[index].length();
+
+            String value = index < values.length ? values[index] : null;
+            if (value != null) {
+                if (builder == null) builder = new StringBuilder(line.length() + 16);
+                builder.append(line, copied, start).append(value);
+                copied = end;
+            }
+
+            from = end;
+        }
+
+        if (builder == null) return line;
+        return builder.append(line, copied, line.length()).toString();
+    }
+}
@@ -0,0 +1,147 @@
+package me.croabeast.beanslib.utilities;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A bounded cache that evicts the least recently used entry when it's full.
+ * <p> It counts every hit and miss, so the hit rate can be checked at runtime.
+ * All the methods are thread-safe.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class LruCache<K, V> {
+
+    private final int maxSize;
+    private final Map<K, V> map;
+
+    private long hits = 0, misses = 0;
+
+    /**
+     * Creates a new cache.
+     * @param maxSize the max amount of entries, it should be positive
+     */
+    public LruCache(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+        this.map = new LinkedHashMap<K, V>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > LruCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the value of a key, without loading it if it's not stored.
+     * @param key a key
+     * @return the stored value, or null if not stored
+     */
+    @Nullable
+    public synchronized V getIfPresent(@NotNull K key) {
+        V value = map.get(key);
+        if (value != null) hits++;
+        else misses++;
+        return value;
+    }
+
+    /**
+     * Gets the value of a key, loading and storing it if it's not stored.
+     * <p> The loader runs outside the lock, so two threads can load the same key at
+     * the same time; the last one will be stored.
+     * @param key a key
+     * @param loader the function to create the value
+     * @return the requested value
+     */
+    public V get(@NotNull K key, @NotNull Function<? super K, ? extends V> loader) {
+        V value = getIfPresent(key);
+        if (value != null) return value;
+
+        value = loader.apply(key);
+        if (value != null) put(key, value);
+        return value;
+    }
+
+    /**
+     * Stores a value.
+     * @param key a key
+     * @param value the value
+     */
+    public synchronized void put(@NotNull K key, @NotNull V value) {
+        map.put(key, value);
+    }
+
+    /**
+     * Removes the value of a key.
+     * @param key a key
+     * @return the removed value, or null if not stored
+     */
+    @Nullable
+    public synchronized V remove(@NotNull K key) {
+        return map.remove(key);
+    }
+
+    /**
+     * Removes the values of all the keys that match a condition.
+     * @param filter the condition
+     * @return the amount of removed values
+     */
+    public synchronized int removeIf(@NotNull Predicate<? super K> filter) {
+        int size = map.size();
+        map.keySet().removeIf(filter);
+        return size - map.size();
+    }
+
+    /**
+     * Removes all the stored values. The counters are not reset.
+     */
+    public synchronized void clear() {
+        map.clear();
+    }
+
+    /**
+     * Gets the amount of stored values.
+     * @return the size
+     */
+    public synchronized int size() {
+        return map.size();
+    }
+
+    /**
+     * Gets the max amount of stored values.
+     * @return the max size
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets how many times a requested key was stored.
+     * @return the hits
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets how many times a requested key wasn't stored.
+     * @return the misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the ratio between the hits and all the requests.
+     * @return the hit rate, from 0 to 1
+     */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,133 @@
+package me.croabeast.beanslib.utilities;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * The registry that stores compiled {@link Pattern patterns}, so the same regex
+ * is not compiled again on every call.
+ * <p> There are two ways to get a pattern:
+ * <blockquote><pre>
+ * 1. {@link #compile(String)} for any regex, stored in a bounded cache.
+ * 2. A {@link Slot} for regexes built from overridable methods: the slot only
+ *    compiles again if the method returns a different regex.</pre></blockquote>
+ * <p> Use {@link #getCompilations()} to check that no pattern is compiled on the steady state.
+ */
+public final class PatternRegistry {
+
+    /**
+     * The max amount of ad-hoc patterns stored in the cache.
+     */
+    private static final int MAX_SIZE = 1000;
+
+    private static final LruCache<String, Pattern> PATTERNS = new LruCache<>(MAX_SIZE);
+    private static final AtomicLong COMPILATIONS = new AtomicLong();
+
+    private PatternRegistry() {}
+
+    /**
+     * Compiles a regex and counts the compilation.
+     * @param regex the regex
+     * @return the compiled pattern
+     */
+    private static Pattern doCompile(String regex) {
+        COMPILATIONS.incrementAndGet();
+        return Pattern.compile(regex);
+    }
+
+    /**
+     * Gets the compiled pattern of a regex, compiling it only if it's not stored.
+     * @param regex the regex
+     * @return the compiled pattern
+     */
+    @NotNull
+    public static Pattern compile(@NotNull String regex) {
+        return PATTERNS.get(regex, PatternRegistry::doCompile);
+    }
+
+    /**
+     * Creates a new slot for a regex that can change, like an overridable method.
+     * @param name the name of the slot, used for debugging
+     * @return the new slot
+     */
+    @NotNull
+    public static Slot slot(@NotNull String name) {
+        return new Slot(name);
+    }
+
+    /**
+     * Gets how many patterns were compiled by this registry since the server started.
+     * @return the compilations count
+     */
+    public static long getCompilations() {
+        return COMPILATIONS.get();
+    }
+
+    /**
+     * Gets the cache of the ad-hoc patterns, to check its size and hit rate.
+     * @return the pattern cache
+     */
+    @NotNull
+    public static LruCache<String, Pattern> getCache() {
+        return PATTERNS;
+    }
+
+    /**
+     * A memoized pattern that's only compiled again if its regex changes.
+     */
+    public static final class Slot {
+
+        private final String name;
+        private volatile Compiled compiled = null;
+
+        private Slot(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Gets the compiled pattern of a regex.
+         * <p> If the regex is the same as the last one, the stored pattern is returned.
+         * @param regex the regex
+         * @return the compiled pattern
+         */
+        @NotNull
+        public Pattern get(@NotNull String regex) {
+            Compiled c = compiled;
+            if (c != null && c.regex.equals(regex)) return c.pattern;
+
+            compiled = c = new Compiled(regex, doCompile(regex));
+            return c.pattern;
+        }
+
+        /**
+         * Gets the name of this slot.
+         * @return the name
+         */
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            Compiled c = compiled;
+            return "Slot{name=" + name + ", regex=" + (c == null ? null : c.regex) + "}";
+        }
+    }
+
+    /*
+     * The regex and its pattern, swapped as a single object.
+     */
+    private static final class Compiled {
+
+        private final String regex;
+        private final Pattern pattern;
+
+        private Compiled(String regex, Pattern pattern) {
+            this.regex = regex;
+            this.pattern = pattern;
+        }
+    }
+}
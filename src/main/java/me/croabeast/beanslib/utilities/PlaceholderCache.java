@@ -0,0 +1,285 @@
+package me.croabeast.beanslib.utilities;
+
+import me.clip.placeholderapi.PlaceholderAPI;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+
+/**
+ * The layer between the lib and {@link PlaceholderAPI}.
+ * <p> The PlaceholderAPI plugin instance is looked up once, so checking if it's enabled
+ * doesn't use the plugin manager every time.
+ * <p> By default, the TTL is 0 and every line is parsed by PlaceholderAPI, like before.
+ * If a TTL is set, see {@link #setDefaultTTL(long, TimeUnit)} and {@link #setTTL(String, long, TimeUnit)},
+ * the lines are split once in text and placeholder segments, and the value of every
+ * placeholder is stored for each player until its TTL expires.
+ */
+public final class PlaceholderCache {
+
+    /**
+     * The PlaceholderAPI placeholder format: <code>%identifier_params%</code>, the first
+     * group is the identifier.
+     * <p> It finds the same placeholders as PlaceholderAPI: the identifier can't have
+     * spaces, but the params can, and the params are optional. A '%' followed by a space
+     * before any '_', like in <code>50% off</code>, is just text.
+     */
+    public static final String PLACEHOLDER = "%([^% _]*)(?:_[^%]*)?%";
+
+    /**
+     * The nanoseconds to wait before looking up the plugin again if it's not loaded.
+     */
+    private static final long LOOKUP_DELAY = TimeUnit.SECONDS.toNanos(5);
+
+    private static volatile Plugin plugin = null;
+    private static volatile long lastLookup = 0;
+
+    private static volatile long defaultTTL = 0;
+    private static final Map<String, Long> TTLS = new ConcurrentHashMap<>();
+
+    private static volatile LruCache<Key, Value> values = new LruCache<>(10000);
+    private static final LruCache<String, Template> TEMPLATES = new LruCache<>(1000);
+
+    private static final AtomicLong HITS = new AtomicLong(), MISSES = new AtomicLong();
+
+    private PlaceholderCache() {}
+
+    /**
+     * Checks if PlaceholderAPI is enabled, looking up its plugin instance only if needed.
+     * <p> If it's not found or disabled, it's looked up again after 5 seconds.
+     * @return if it's enabled
+     */
+    public static boolean isEnabled() {
+        Plugin p = plugin;
+        if (p != null && p.isEnabled()) return true;
+
+        long now = System.nanoTime();
+        if (lastLookup != 0 && now - lastLookup < LOOKUP_DELAY) return false;
+
+        lastLookup = now;
+        plugin = p = Bukkit.getPluginManager().getPlugin("PlaceholderAPI");
+        return p != null && p.isEnabled();
+    }
+
+    /**
+     * Parses the placeholders of a line.
+     * @param player a player, can be null
+     * @param message the input line
+     * @return the parsed line
+     */
+    public static String parse(@Nullable Player player, String message) {
+        if (message == null || message.indexOf('%') < 0 || !isEnabled()) return message;
+        if (defaultTTL <= 0 && TTLS.isEmpty()) return PlaceholderAPI.setPlaceholders(player, message);
+
+        Template template = TEMPLATES.get(message, Template::new);
+        if (template.placeholders.length == 0) return message;
+
+        UUID uuid = player == null ? null : player.getUniqueId();
+        StringBuilder builder = new StringBuilder(message.length() + 16);
+
+        for (int i = 0; i < template.placeholders.length; i++) {
+            builder.append(template.texts[i]);
+            builder.append(resolve(player, uuid, template.placeholders[i], template.identifiers[i]));
+        }
+
+        return builder.append(template.texts[template.placeholders.length]).toString();
+    }
+
+    /**
+     * Gets the value of a placeholder, from the cache if it's not expired.
+     * @param player a player, can be null
+     * @param uuid the player's UUID, can be null
+     * @param placeholder the placeholder, with its % chars
+     * @param identifier the placeholder's identifier
+     * @return the placeholder value
+     */
+    private static String resolve(Player player, UUID uuid, String placeholder, String identifier) {
+        long ttl = getTTL(identifier);
+        if (ttl <= 0) return PlaceholderAPI.setPlaceholders(player, placeholder);
+
+        LruCache<Key, Value> cache = values;
+        Key key = new Key(uuid, placeholder);
+        long now = System.nanoTime();
+
+        Value value = cache.getIfPresent(key);
+        if (value != null && now - value.time < ttl) {
+            HITS.incrementAndGet();
+            return value.value;
+        }
+
+        MISSES.incrementAndGet();
+        String result = PlaceholderAPI.setPlaceholders(player, placeholder);
+
+        cache.put(key, new Value(result, now));
+        return result;
+    }
+
+    /**
+     * Gets the TTL of a placeholder identifier.
+     * @param identifier the identifier
+     * @return the TTL in nanoseconds
+     */
+    private static long getTTL(String identifier) {
+        Long ttl = TTLS.get(identifier);
+        return ttl == null ? defaultTTL : ttl;
+    }
+
+    /**
+     * Sets the TTL of all the placeholders without its own TTL. Use 0 to disable the cache.
+     * @param ttl the TTL
+     * @param unit the TTL unit
+     */
+    public static void setDefaultTTL(long ttl, @NotNull TimeUnit unit) {
+        defaultTTL = Math.max(0, unit.toNanos(ttl));
+    }
+
+    /**
+     * Sets the TTL of the placeholders of an identifier, like <code>statistic</code>
+     * for <code>%statistic_deaths%</code>. Use 0 to never cache them.
+     * @param identifier the identifier, it's case-insensitive
+     * @param ttl the TTL
+     * @param unit the TTL unit
+     */
+    public static void setTTL(@NotNull String identifier, long ttl, @NotNull TimeUnit unit) {
+        TTLS.put(identifier.toLowerCase(Locale.ENGLISH), Math.max(0, unit.toNanos(ttl)));
+    }
+
+    /**
+     * Removes the TTL of an identifier, so it uses the default TTL.
+     * @param identifier the identifier, it's case-insensitive
+     */
+    public static void removeTTL(@NotNull String identifier) {
+        TTLS.remove(identifier.toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Sets the max amount of stored values. The stored values are removed.
+     * @param maxSize the max size
+     */
+    public static void setMaxSize(int maxSize) {
+        values = new LruCache<>(maxSize);
+    }
+
+    /**
+     * Removes the stored values of a player.
+     * @param uuid the player's UUID
+     */
+    public static void invalidate(@NotNull UUID uuid) {
+        values.removeIf(k -> uuid.equals(k.uuid));
+    }
+
+    /**
+     * Removes all the stored values.
+     */
+    public static void invalidateAll() {
+        values.clear();
+    }
+
+    /**
+     * Gets the amount of stored values.
+     * @return the size
+     */
+    public static int size() {
+        return values.size();
+    }
+
+    /**
+     * Gets how many times a stored value was used.
+     * @return the hits
+     */
+    public static long getHits() {
+        return HITS.get();
+    }
+
+    /**
+     * Gets how many times a value was parsed by PlaceholderAPI because it wasn't stored or expired.
+     * @return the misses
+     */
+    public static long getMisses() {
+        return MISSES.get();
+    }
+
+    /**
+     * Gets the ratio between the hits and all the cached placeholder requests.
+     * @return the hit rate, from 0 to 1
+     */
+    public static double getHitRate() {
+        long hits = HITS.get(), total = hits + MISSES.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /*
+     * A line split in text and placeholder segments: texts[i], placeholders[i], ..., texts[n].
+     */
+    private static final class Template {
+
+        private final String[] texts, placeholders, identifiers;
+
+        private Template(String line) {
+            List<String> texts = new ArrayList<>(), placeholders = new ArrayList<>(), identifiers = new ArrayList<>();
+            Matcher matcher = PatternRegistry.compile(PLACEHOLDER).matcher(line);
+
+            int last = 0;
+            while (matcher.find()) {
+                texts.add(line.substring(last, matcher.start()));
+                placeholders.add(matcher.group());
+                identifiers.add(matcher.group(1).toLowerCase(Locale.ENGLISH));
+                last = matcher.end();
+            }
+            texts.add(line.substring(last));
+
+            this.texts = texts.toArray(new String[0]);
+            this.placeholders = placeholders.toArray(new String[0]);
+            this.identifiers = identifiers.toArray(new String[0]);
+        }
+    }
+
+    /*
+     * A placeholder of a player, the UUID is null for no player.
+     */
+    private static final class Key {
+
+        private final UUID uuid;
+        private final String placeholder;
+
+        private Key(UUID uuid, String placeholder) {
+            this.uuid = uuid;
+            this.placeholder = placeholder;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key k = (Key) o;
+            return Objects.equals(uuid, k.uuid) && placeholder.equals(k.placeholder);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(uuid) + placeholder.hashCode();
+        }
+    }
+
+    /*
+     * A parsed value and the time when it was parsed.
+     */
+    private static final class Value {
+
+        private final String value;
+        private final long time;
+
+        private Value(String value, long time) {
+            this.value = value;
+            this.time = time;
+        }
+    }
+}
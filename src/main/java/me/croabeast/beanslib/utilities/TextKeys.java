@@ -28,6 +28,11 @@ public abstract class TextKeys {
     public static final Pattern JSON_PATTERN = Pattern.compile("(?i)<"
             + JSON_PREFIX + "(\\|" + JSON_PREFIX + ")?>(.+?)</text>");
 
+    /*
+     * The main pattern, only compiled again if an overridden key changes.
+     */
+    private final PatternRegistry.Slot textSlot = PatternRegistry.slot("textPattern");
+
     /**
      * Gets the server's version. Example: 1.8.8, 1.16.5
      * @return server's version
@@ -112,6 +117,26 @@ public abstract class TextKeys {
      */
     public abstract boolean isStripPrefix();
 
+    /**
+     * If you want players that receive the same bossbar in the same tick to share
+     * a single bukkit bossbar, like on a broadcast.
+     * <p>This can be overridden, if you want to enable it.
+     * @return if shared bossbars are enabled
+     */
+    public boolean isSharedBossbars() {
+        return false;
+    }
+
+    /**
+     * If you want the console lines of the log methods to be formatted and written
+     * by a background thread, see {@link me.croabeast.beanslib.messages.LogSink}.
+     * <p>This can be overridden, if you want to enable it.
+     * @return if async logging is enabled
+     */
+    public boolean isAsyncLogging() {
+        return false;
+    }
+
     /**
      * The size of the chat box of the player's client for centered chat messages.
      * <p>This can be overridden, if you want to set a custom value.
@@ -121,6 +146,16 @@ public abstract class TextKeys {
         return 154;
     }
 
+    /**
+     * The max amount of compiled messages stored in cache. Every distinct
+     * message line uses one entry.
+     * <p>This can be overridden, if you want to set a custom value.
+     * @return message cache's size
+     */
+    public int messageCacheSize() {
+        return 500;
+    }
+
     /**
      * The center prefix to define a center chat message.
      * @return center prefix
@@ -266,7 +301,7 @@ public abstract class TextKeys {
     @NotNull
     public Pattern textPattern() {
         String start = Pattern.quote(startDelimiter()), end = Pattern.quote(endDelimiter());
-        return Pattern.compile("(?i)(" + start + "(" + titleKey() + "|" +
+        return textSlot.get("(?i)(" + start + "(" + titleKey() + "|" +
                 jsonKey() + "|" + bossbarKey() + "|" + actionBarKey() + ")" + end + ")(.+)");
     }
 }
@@ -0,0 +1,258 @@
+package me.croabeast.beanslib.utilities;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Removes color codes, formats and json tags from a string in a single char scan,
+ * without regexes.
+ * <p> The removed parts are selected with a bitmask of flags, for example:
+ * <pre> TextStripper.strip(line, TextStripper.ALL | TextStripper.JSON);</pre>
+ * <p> Every flag removes the same as its regex, case-insensitive:
+ * <blockquote><pre>
+ * {@link #COLORS}    [&amp;§][a-f0-9]
+ * {@link #FORMATS}   [&amp;§][k-o]
+ * {@link #RESET}     [&amp;§]r
+ * {@link #HEX}       {#rrggbb}, &lt;#rrggbb&gt;, &amp;#rrggbb and #rrggbb
+ * {@link #GRADIENTS} &lt;g&gt;, &lt;/g:50&gt;, &lt;r&gt;, &lt;/r:10&gt;...
+ * {@link #JSON}      the tags of the {@link TextKeys#JSON_PATTERN}</pre></blockquote>
+ * <p> Like a regex replace, the string is scanned once: a format that only appears
+ * after removing another one is not removed.
+ */
+public final class TextStripper {
+
+    /**
+     * The bukkit color codes.
+     */
+    public static final int COLORS = 1;
+    /**
+     * The bukkit special formats: obfuscated, bold, strikethrough, underline and italic.
+     */
+    public static final int FORMATS = 1 << 1;
+    /**
+     * The bukkit reset code.
+     */
+    public static final int RESET = 1 << 2;
+    /**
+     * The RGB color codes.
+     */
+    public static final int HEX = 1 << 3;
+    /**
+     * The gradient and rainbow tags.
+     */
+    public static final int GRADIENTS = 1 << 4;
+    /**
+     * The json tags, like <code>&lt;hover=[...]&gt;</code> and <code>&lt;/text&gt;</code>.
+     */
+    public static final int JSON = 1 << 5;
+
+    /**
+     * All the bukkit codes.
+     */
+    public static final int BUKKIT = COLORS | FORMATS | RESET;
+    /**
+     * All the color formats, the same as {@link me.croabeast.iridiumapi.IridiumAPI#stripAll(String)}.
+     */
+    public static final int ALL = BUKKIT | HEX | GRADIENTS;
+
+    /**
+     * The json tag names.
+     */
+    private static final String[] TAGS = {"text", "hover", "run", "suggest", "url"};
+
+    private TextStripper() {}
+
+    /**
+     * Removes the parts selected by the flags from a string.
+     * @param string an input string
+     * @param flags the flags of the parts to remove
+     * @return the stripped string, the same instance if nothing was removed
+     */
+    @NotNull
+    public static String strip(@NotNull String string, int flags) {
+        int length = string.length();
+        if (flags == 0 || length < 2) return string;
+
+        StringBuilder builder = null;
+        int copied = 0, i = 0;
+
+        while (i < length) {
+            int end = match(string, i, flags);
+            if (end < 0) {
+                i++;
+                continue;
+            }
+
+            if (builder == null) builder = new StringBuilder(length);
+            builder.append(string, copied, i);
+            copied = i = end;
+        }
+
+        if (builder == null) return string;
+        return builder.append(string, copied, length).toString();
+    }
+
+    /**
+     * Gets the end of the part that starts at an index.
+     * @param s the string
+     * @param i the index
+     * @param flags the flags of the parts to remove
+     * @return the end index, or -1 if there is not a part to remove
+     */
+    private static int match(String s, int i, int flags) {
+        char c = s.charAt(i);
+
+        switch (c) {
+            case '&': case '§':
+                if (i + 1 >= s.length()) return -1;
+                char next = lower(s.charAt(i + 1));
+
+                if ((flags & COLORS) != 0 && (isDigit(next) || (next >= 'a' && next <= 'f'))) return i + 2;
+                if ((flags & FORMATS) != 0 && next >= 'k' && next <= 'o') return i + 2;
+                if ((flags & RESET) != 0 && next == 'r') return i + 2;
+
+                return c == '&' && next == '#' && (flags & HEX) != 0 && isHex(s, i + 2) ? i + 8 : -1;
+
+            case '#':
+                return (flags & HEX) != 0 && isHex(s, i + 1) ? i + 7 : -1;
+
+            case '{':
+                return (flags & HEX) != 0 && charAt(s, i + 1) == '#' &&
+                        isHex(s, i + 2) && charAt(s, i + 8) == '}' ? i + 9 : -1;
+
+            case '<':
+                int end;
+                if ((flags & HEX) != 0 && charAt(s, i + 1) == '#' &&
+                        isHex(s, i + 2) && charAt(s, i + 8) == '>') return i + 9;
+
+                if ((flags & GRADIENTS) != 0 && (end = gradient(s, i)) != -1) return end;
+                return (flags & JSON) != 0 ? json(s, i) : -1;
+
+            default: return -1;
+        }
+    }
+
+    /**
+     * Matches a gradient tag: <code>&lt;/?[gr](:\d{1,3})?&gt;</code>.
+     * @param s the string
+     * @param i the index of the '&lt;' char
+     * @return the end index, or -1 if it doesn't match
+     */
+    private static int gradient(String s, int i) {
+        int j = i + 1;
+        if (charAt(s, j) == '/') j++;
+
+        char c = lower(charAt(s, j++));
+        if (c != 'g' && c != 'r') return -1;
+
+        if (charAt(s, j) == '>') return j + 1;
+        if (charAt(s, j++) != ':') return -1;
+
+        int digits = 0;
+        while (digits < 3 && isDigit(charAt(s, j))) {
+            digits++;
+            j++;
+        }
+
+        return digits > 0 && charAt(s, j) == '>' ? j + 1 : -1;
+    }
+
+    /**
+     * Matches a json tag, the same as the regex:
+     * <code>&lt;/?(tag)(=\[(.+?)](\|(tag)=\[(.+?)])?)?&gt;</code>
+     * @param s the string
+     * @param i the index of the '&lt;' char
+     * @return the end index, or -1 if it doesn't match
+     */
+    private static int json(String s, int i) {
+        int j = i + 1;
+        if (charAt(s, j) == '/') j++;
+
+        if ((j = tag(s, j)) == -1) return -1;
+
+        if (charAt(s, j) == '=' && charAt(s, j + 1) == '[') {
+            // The lazy content: the first ']' that completes the tag wins.
+            for (int e = j + 3; e < s.length() && !isTerminator(s.charAt(e - 1)); e++) {
+                if (s.charAt(e) != ']') continue;
+
+                int k = e + 1, end = second(s, k);
+                if (end != -1) return end;
+                if (charAt(s, k) == '>') return k + 1;
+            }
+        }
+
+        return charAt(s, j) == '>' ? j + 1 : -1;
+    }
+
+    /**
+     * Matches the optional second event of a json tag: <code>\|(tag)=\[(.+?)]&gt;</code>.
+     * @param s the string
+     * @param k the index of the '|' char
+     * @return the end index, or -1 if it doesn't match
+     */
+    private static int second(String s, int k) {
+        if (charAt(s, k) != '|') return -1;
+
+        int j = tag(s, k + 1);
+        if (j == -1 || charAt(s, j) != '=' || charAt(s, j + 1) != '[') return -1;
+
+        for (int e = j + 3; e < s.length() && !isTerminator(s.charAt(e - 1)); e++)
+            if (s.charAt(e) == ']' && charAt(s, e + 1) == '>') return e + 2;
+
+        return -1;
+    }
+
+    /**
+     * Matches a json tag name, ignoring its case.
+     * @param s the string
+     * @param j the start index
+     * @return the end index, or -1 if it doesn't match
+     */
+    private static int tag(String s, int j) {
+        for (String tag : TAGS) {
+            int length = tag.length();
+            if (j + length > s.length()) continue;
+
+            int i = 0;
+            while (i < length && lower(s.charAt(j + i)) == tag.charAt(i)) i++;
+            if (i == length) return j + length;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if there are 6 hex digits from an index.
+     * @param s the string
+     * @param from the start index
+     * @return if they are hex digits
+     */
+    private static boolean isHex(String s, int from) {
+        if (from + 6 > s.length()) return false;
+
+        for (int i = from; i < from + 6; i++) {
+            char c = lower(s.charAt(i));
+            if (!isDigit(c) && (c < 'a' || c > 'f')) return false;
+        }
+        return true;
+    }
+
+    private static char charAt(String s, int i) {
+        return i < s.length() ? s.charAt(i) : '\0';
+    }
+
+    private static char lower(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Checks if a char ends a line, so the '.' of a regex doesn't match it.
+     * @param c a char
+     * @return if it's a line terminator
+     */
+    private static boolean isTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
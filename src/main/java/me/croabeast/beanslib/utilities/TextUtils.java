@@ -6,9 +6,11 @@ import me.clip.placeholderapi.*;
 import org.bukkit.*;
 import org.bukkit.configuration.*;
 import org.bukkit.entity.*;
+import org.bukkit.plugin.*;
 import org.jetbrains.annotations.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.*;
 import java.util.regex.*;
 
@@ -19,18 +21,34 @@ public class TextUtils {
 
     /**
      * Parses the placeholders from {@link PlaceholderAPI} if is enabled.
+     * <p> See {@link PlaceholderCache} to cache the placeholder values.
      * @param player a player, can be null
      * @param message the input line
      * @return the parsed message
      */
     public static String parsePAPI(@Nullable Player player, String message) {
-        return Bukkit.getPluginManager().isPluginEnabled("PlaceholderAPI") ?
-                PlaceholderAPI.setPlaceholders(player, message) : message;
+        return PlaceholderCache.parse(player, message);
+    }
+
+    /**
+     * The replacers of the last used key sets.
+     */
+    private static final LruCache<List<String>, KeyReplacer> REPLACERS = new LruCache<>(100);
+
+    /**
+     * Gets the replacer of a key set, creating it only if it's not cached.
+     * @param keys the array of keys
+     * @return the requested replacer
+     */
+    @NotNull
+    public static KeyReplacer getReplacer(@NotNull String[] keys) {
+        return REPLACERS.get(Arrays.asList(keys.clone()), k -> KeyReplacer.of(keys));
     }
 
     /**
      * Replace a {@link String} array of keys with another {@link String} array of values.
-     * <p> It's case-insensitive and special characters are quoted to avoid errors.
+     * <p> It's case-insensitive and every occurrence of each key is replaced in a single
+     * scan, using a cached {@link KeyReplacer} of the key set.
      * @param line the input line
      * @param keys the array of keys
      * @param values the array of values
@@ -40,16 +58,7 @@ public class TextUtils {
         if (keys == null || values == null) return line;
         if (keys.length > values.length) return line;
 
-        for (int i = 0; i < keys.length; i++) {
-            if (keys[i] == null | values[i] == null) continue;
-            String newKey = Pattern.quote(keys[i]);
-
-            Matcher matcher = Pattern.compile("(?i)" + newKey).matcher(line);
-            if (!matcher.find()) continue;
-
-            line = line.replace(matcher.group(), values[i]);
-        }
-        return line;
+        return getReplacer(keys).replace(line, values);
     }
 
     /**
@@ -77,8 +86,32 @@ public class TextUtils {
      * @return the stripped line.
      */
     public static String stripJson(String line) {
-        return line.replaceAll("(?i)</?(text|hover|run|suggest|url)" +
-                "(=\\[(.+?)](\\|(hover|run|suggest|url)=\\[(.+?)])?)?>", "");
+        return TextStripper.strip(line, TextStripper.JSON);
+    }
+
+    /**
+     * The nanoseconds to wait before looking up InteractiveChat again if it's not loaded.
+     */
+    private static final long LOOKUP_DELAY = TimeUnit.SECONDS.toNanos(5);
+
+    private static volatile Plugin interactiveChat = null;
+    private static volatile long lastLookup = 0;
+
+    /**
+     * Checks if InteractiveChat is enabled, looking up its plugin instance only if needed.
+     * <p> If it's not found or disabled, it's looked up again after 5 seconds.
+     * @return if it's enabled
+     */
+    public static boolean isInteractiveChatEnabled() {
+        Plugin p = interactiveChat;
+        if (p != null && p.isEnabled()) return true;
+
+        long now = System.nanoTime();
+        if (lastLookup != 0 && now - lastLookup < LOOKUP_DELAY) return false;
+
+        lastLookup = now;
+        interactiveChat = p = Bukkit.getPluginManager().getPlugin("InteractiveChat");
+        return p != null && p.isEnabled();
     }
 
     /**
@@ -88,7 +121,7 @@ public class TextUtils {
      * @return the line with the parsed placeholders.
      */
     public static String parseInteractiveChat(Player player, String line) {
-        if (Bukkit.getPluginManager().isPluginEnabled("InteractiveChat"))
+        if (isInteractiveChatEnabled())
             try {
                 return InteractiveChatAPI.markSender(line, player.getUniqueId());
             }
@@ -0,0 +1,206 @@
+package me.croabeast.beanslib.utilities;
+
+import me.croabeast.iridiumapi.IridiumAPI;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.regex.Pattern;
+
+/**
+ * A compiled version of the {@link TimeUtils} formats, see {@link TimeUtils#getFormatter()}.
+ * <p> The singular and plural parts of every unit are created once, so formatting
+ * a time only appends those parts and the numbers to a reusable builder, without
+ * regexes or string concatenation. If the formats only have legacy color codes, they
+ * are translated in the same scan; otherwise, the line is colored with {@link IridiumAPI}.
+ * <p> The results of the last formatted times are cached. The output is always the same
+ * as the {@link TimeUtils#formatTime(long)} of the formats used to compile it.
+ */
+public final class TimeFormatter {
+
+    /**
+     * The placeholder of the time value.
+     */
+    private static final String TIME = "{time}";
+    private static final Pattern PLACEHOLDER = Pattern.compile(Pattern.quote(TIME));
+
+    /**
+     * The characters that can follow a '&amp;' to be translated as a legacy code.
+     */
+    private static final String CODES = "0123456789AaBbCcDdEeFfKkLlMmNnOoRrXx";
+
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
+    private final Unit days, hours, minutes, seconds, zero;
+    private final String splitter;
+
+    private final char start, end;
+    private final boolean legacy;
+
+    private final LruCache<Long, String> cache;
+
+    /**
+     * Compiles the formats of the time units.
+     * @param day the day format
+     * @param hour the hour format
+     * @param minute the minute format
+     * @param second the second format
+     * @param splitter the splitter between the units
+     * @param pluralRegex the regex to remove from the singular values
+     * @param start the start delimiter of the plural part
+     * @param end the end delimiter of the plural part
+     * @param cacheSize the amount of cached results, or 0 or less to disable the cache
+     */
+    TimeFormatter(String day, String hour, String minute, String second, String splitter,
+                  String pluralRegex, char start, char end, int cacheSize) {
+        this.start = start;
+        this.end = end;
+        this.splitter = splitter;
+
+        days = new Unit(day, pluralRegex);
+        hours = new Unit(hour, pluralRegex);
+        minutes = new Unit(minute, pluralRegex);
+
+        // The seconds are formatted with the splitter, like in TimeUtils.
+        seconds = new Unit(second + splitter, pluralRegex);
+        zero = new Unit(second, pluralRegex);
+
+        legacy = days.isLegacy() && hours.isLegacy() && minutes.isLegacy() &&
+                seconds.isLegacy() && zero.isLegacy() && isLegacy(splitter);
+
+        cache = cacheSize > 0 ? new LruCache<>(cacheSize) : null;
+    }
+
+    /**
+     * Checks if a text only has legacy color codes, so coloring it is a char-by-char translation.
+     * @param text the text, without the time placeholder
+     * @return if it only has legacy codes
+     */
+    private static boolean isLegacy(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '<' || c == '{' || c == '#') return false;
+        }
+        return true;
+    }
+
+    /**
+     * Formats an amount of seconds, the same as {@link TimeUtils#formatTime(long)}.
+     * @param time the amount of seconds
+     * @return the formatted time
+     */
+    @NotNull
+    public String format(long time) {
+        if (cache == null) return compute(time);
+
+        Long key = time <= 0 ? 0L : time;
+        String result = cache.getIfPresent(key);
+
+        if (result == null) cache.put(key, result = compute(time));
+        return result;
+    }
+
+    /**
+     * Formats an amount of seconds without using the cache.
+     * @param time the amount of seconds
+     * @return the formatted time
+     */
+    private String compute(long time) {
+        StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+
+        try {
+            if (time <= 0) {
+                zero.append(builder, 0);
+                return colorize(builder);
+            }
+
+            long d = time / 86400;
+            time -= d * 86400;
+            if (d > 0) days.append(builder, d).append(splitter);
+
+            long h = time / 3600;
+            time -= h * 3600;
+            if (h > 0) hours.append(builder, h).append(splitter);
+
+            long m = time / 60;
+            time -= m * 60;
+            if (m > 0) minutes.append(builder, m).append(splitter);
+
+            if (time > 0) seconds.append(builder, time);
+
+            int length = builder.length() - splitter.length();
+            if (length < 0) throw new StringIndexOutOfBoundsException(length);
+
+            builder.setLength(length);
+            return colorize(builder);
+        } finally {
+            if (builder.capacity() > 1024) BUILDER.remove();
+        }
+    }
+
+    /**
+     * Colors the formatted time.
+     * @param builder the builder with the formatted time
+     * @return the colored time
+     */
+    private String colorize(StringBuilder builder) {
+        if (!legacy) return IridiumAPI.process(builder.toString());
+
+        for (int i = 0; i < builder.length() - 1; i++) {
+            char next = builder.charAt(i + 1);
+            if (builder.charAt(i) != '&' || CODES.indexOf(next) < 0) continue;
+
+            builder.setCharAt(i, '§');
+            builder.setCharAt(i + 1, Character.toLowerCase(next));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Gets the cache of the formatted times.
+     * @return the cache, or null if it's disabled
+     */
+    @Nullable
+    public LruCache<Long, String> getCache() {
+        return cache;
+    }
+
+    /*
+     * The singular and plural parts of a unit format.
+     */
+    private final class Unit {
+
+        private final String singular;
+        private final String[] parts;
+
+        private Unit(String format, String pluralRegex) {
+            singular = format.replace(TIME, "1").replaceAll(pluralRegex, "");
+
+            // Split first, so removing the delimiters can't create a new placeholder.
+            String[] split = PLACEHOLDER.split(format, -1);
+            parts = new String[split.length];
+
+            for (int i = 0; i < split.length; i++) parts[i] = strip(split[i]);
+        }
+
+        private String strip(String text) {
+            return text.replace(start + "", "").replace(end + "", "");
+        }
+
+        private boolean isLegacy() {
+            if (!TimeFormatter.isLegacy(singular)) return false;
+            for (String part : parts) if (!TimeFormatter.isLegacy(part)) return false;
+            return true;
+        }
+
+        private StringBuilder append(StringBuilder builder, long value) {
+            if (value == 1) return builder.append(singular);
+
+            String number = strip(Long.toString(value));
+            builder.append(parts[0]);
+
+            for (int i = 1; i < parts.length; i++) builder.append(number).append(parts[i]);
+            return builder;
+        }
+    }
+}
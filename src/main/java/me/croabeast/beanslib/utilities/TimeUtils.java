@@ -1,7 +1,5 @@
 package me.croabeast.beanslib.utilities;
 
-import me.croabeast.iridiumapi.IridiumAPI;
-
 /**
  * Basic time utilities for any server.
  *
@@ -22,8 +20,26 @@ public class TimeUtils {
     private static char startDelimiter = '(';
     private static char endDelimiter = ')';
 
-    private static String colorize(String input) {
-        return IridiumAPI.process(input);
+    // the compiled formats, created again after a format change
+    private static volatile TimeFormatter formatter = null;
+    private static int cacheSize = 256;
+
+    /**
+     * Gets the compiled version of the current formats, compiling them only if
+     * a format changed.
+     *
+     * @return the time formatter
+     */
+    public static TimeFormatter getFormatter() {
+        TimeFormatter f = formatter;
+        if (f != null) return f;
+
+        synchronized (TimeUtils.class) {
+            if (formatter == null)
+                formatter = new TimeFormatter(dayFormat, hourFormat, minuteFormat, secondFormat,
+                        splitterFormat, pluralRegex, startDelimiter, endDelimiter, cacheSize);
+            return formatter;
+        }
     }
 
     /**
@@ -34,47 +50,17 @@ public class TimeUtils {
      * @return Formatted string with seconds, minutes, hours and days
      */
     public static String formatTime(long seconds) {
-
-        // if time 0, return right away
-        if (seconds <= 0) return colorize(checkPluralFormat(0, secondFormat));
-
-        String formattedTime = "";
-        long daysTotal, hoursTotal, minutesTotal;
-
-        // gets day time
-        daysTotal = getFixedTime(seconds, 86400);
-        seconds = seconds - (daysTotal * 86400);
-        if (daysTotal > 0) formattedTime += (checkPluralFormat(daysTotal, dayFormat) + splitterFormat);
-
-        // gets hour time
-        hoursTotal = getFixedTime(seconds, 3600);
-        seconds = seconds - (hoursTotal * 3600);
-        if (hoursTotal > 0) formattedTime += checkPluralFormat(hoursTotal, hourFormat) + splitterFormat;
-
-        // gets minute time
-        minutesTotal = getFixedTime(seconds, 60);
-        seconds = seconds - (minutesTotal * 60);
-        if (minutesTotal > 0) formattedTime += checkPluralFormat(minutesTotal, minuteFormat) + splitterFormat;
-
-        // gets second time
-        if (seconds > 0) formattedTime += checkPluralFormat(seconds, secondFormat + splitterFormat);
-
-        // returns final string
-        return colorize(formattedTime.substring(0, formattedTime.length() - splitterFormat.length()));
-
+        return getFormatter().format(seconds);
     }
 
-    // gets proper time for a time format
-    private static long getFixedTime(long seconds, long formatter) {
-        long tempSeconds = seconds % formatter;
-        return (seconds - tempSeconds) / formatter;
-    }
-
-    // checks plural formatting and applies it
-    private static String checkPluralFormat(long value, String string) {
-        string = string.replace("{time}", value + "");
-        if (value == 1) return string.replaceAll(pluralRegex, "");
-        else return string.replace(startDelimiter + "", "").replace(endDelimiter + "", "");
+    /**
+     * Change the amount of formatted times that are cached, 0 to disable the cache.
+     *
+     * @param size the cache size
+     */
+    public static synchronized void setCacheSize(int size) {
+        cacheSize = size;
+        formatter = null;
     }
 
     /**
@@ -82,8 +68,9 @@ public class TimeUtils {
      *
      * @param format string to use as days
      */
-    public static void setDayFormat(String format) {
+    public static synchronized void setDayFormat(String format) {
         dayFormat = format;
+        formatter = null;
     }
 
     /**
@@ -91,8 +78,9 @@ public class TimeUtils {
      *
      * @param format string to use as hours
      */
-    public static void setHourFormat(String format) {
+    public static synchronized void setHourFormat(String format) {
         hourFormat = format;
+        formatter = null;
     }
 
     /**
@@ -100,8 +88,9 @@ public class TimeUtils {
      *
      * @param format string to use as minutes
      */
-    public static void setMinuteFormat(String format) {
+    public static synchronized void setMinuteFormat(String format) {
         minuteFormat = format;
+        formatter = null;
     }
 
     /**
@@ -109,8 +98,9 @@ public class TimeUtils {
      *
      * @param format string to use as seconds
      */
-    public static void setSecondFormat(String format) {
+    public static synchronized void setSecondFormat(String format) {
         secondFormat = format;
+        formatter = null;
     }
 
     /**
@@ -118,15 +108,17 @@ public class TimeUtils {
      *
      * @param format string to use as splitter
      */
-    public static void setSplitterFormat(String format) {
+    public static synchronized void setSplitterFormat(String format) {
         splitterFormat = format;
+        formatter = null;
     }
 
     /**
      * When there is only one item, what should be replaced?
      */
-    public static void pluralRegexFormat(String regex) {
+    public static synchronized void pluralRegexFormat(String regex) {
         pluralRegex = regex;
+        formatter = null;
     }
 
     /**
@@ -134,8 +126,9 @@ public class TimeUtils {
      *
      * @param delimiter Delimiter of your choice
      */
-    public static void setStartDelimiter(char delimiter) {
+    public static synchronized void setStartDelimiter(char delimiter) {
         startDelimiter = delimiter;
+        formatter = null;
     }
 
     /**
@@ -143,8 +136,9 @@ public class TimeUtils {
      *
      * @param delimiter Delimiter of your choice
      */
-    public static void setEndDelimiter(char delimiter) {
+    public static synchronized void setEndDelimiter(char delimiter) {
         endDelimiter = delimiter;
+        formatter = null;
     }
 
 }
\ No newline at end of file
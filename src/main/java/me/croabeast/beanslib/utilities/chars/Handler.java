@@ -83,6 +83,7 @@ public final class Handler {
      */
     public static void addChar(char c, int length) {
         getValues().put(c, new CharInfo(c, length));
+        TextMeasurer.setWidth(c, length);
     }
 
     /**
@@ -91,6 +92,7 @@ public final class Handler {
      */
     public static void removeChar(char c) {
         getValues().remove(c);
+        TextMeasurer.resetWidth(c);
     }
 
     /**
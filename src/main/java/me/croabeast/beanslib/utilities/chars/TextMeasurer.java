@@ -0,0 +1,127 @@
+package me.croabeast.beanslib.utilities.chars;
+
+import me.croabeast.beanslib.utilities.LruCache;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * The class that measures the pixel width of colored strings, to center chat messages.
+ * <p> The widths of every char of the BMP are stored in arrays, with the bold widths
+ * already computed. They are updated by {@link Handler#addChar(char, int)} and
+ * {@link Handler#removeChar(char)}, so both classes always have the same values.
+ */
+public final class TextMeasurer {
+
+    /**
+     * The width of the chars that aren't registered.
+     */
+    private static final int DEFAULT_WIDTH = 5;
+
+    private static final int[] WIDTHS = new int[Character.MAX_VALUE + 1],
+            BOLD_WIDTHS = new int[Character.MAX_VALUE + 1];
+
+    /**
+     * The padding strings by its measured width and chat box size.
+     */
+    private static final LruCache<Long, String> PADDINGS = new LruCache<>(256);
+
+    static {
+        Arrays.fill(WIDTHS, DEFAULT_WIDTH);
+        Arrays.fill(BOLD_WIDTHS, DEFAULT_WIDTH + 1);
+        for (Defaults d : Defaults.values()) setWidth(d.character(), d.length());
+    }
+
+    private TextMeasurer() {}
+
+    /**
+     * Sets the width of a char, and its bold width.
+     * @param c a character
+     * @param width the char's width
+     */
+    static void setWidth(char c, int width) {
+        WIDTHS[c] = width;
+        BOLD_WIDTHS[c] = width + (c == ' ' ? 0 : 1);
+    }
+
+    /**
+     * Sets the width of a char to the default width.
+     * @param c a character
+     */
+    static void resetWidth(char c) {
+        WIDTHS[c] = DEFAULT_WIDTH;
+        BOLD_WIDTHS[c] = DEFAULT_WIDTH + 1;
+    }
+
+    /**
+     * Gets the width of a char.
+     * @param c a character
+     * @return the char's width
+     */
+    public static int getWidth(char c) {
+        return WIDTHS[c];
+    }
+
+    /**
+     * Gets the width of a char when is bold.
+     * @param c a character
+     * @return the char's width in bold
+     */
+    public static int getBoldWidth(char c) {
+        return BOLD_WIDTHS[c];
+    }
+
+    /**
+     * Measures the pixel width of an already colored string, counting the space
+     * between every char. The <code>§l</code> code makes the next chars bold
+     * until the next color code.
+     * @param string a colored string
+     * @return the string's width
+     */
+    public static int measure(@NotNull String string) {
+        int width = 0;
+        boolean previousCode = false, isBold = false;
+
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+
+            if (c == '§') previousCode = true;
+            else if (previousCode) {
+                previousCode = false;
+                isBold = c == 'l' || c == 'L';
+            }
+            else width += (isBold ? BOLD_WIDTHS[c] : WIDTHS[c]) + 1;
+        }
+
+        return width;
+    }
+
+    /**
+     * Gets the spaces to add before a message to center it in the chat box.
+     * @param width the message's width, see {@link #measure(String)}
+     * @param chatBoxSize the size of the chat box
+     * @return the padding spaces
+     */
+    @NotNull
+    public static String padding(int width, int chatBoxSize) {
+        long key = ((long) width << 32) | (chatBoxSize & 0xFFFFFFFFL);
+        return PADDINGS.get(key, k -> {
+            int toCompensate = chatBoxSize - width / 2;
+            // 4 is the SPACE char length + 1
+            int spaces = toCompensate <= 0 ? 0 : (toCompensate + 3) / 4;
+
+            char[] chars = new char[spaces];
+            for (int i = 0; i < spaces; i++) chars[i] = ' ';
+            return new String(chars);
+        });
+    }
+
+    /**
+     * Gets the cache of the padding strings, to check its size and hit rate.
+     * @return the padding cache
+     */
+    @NotNull
+    public static LruCache<Long, String> getPaddingCache() {
+        return PADDINGS;
+    }
+}
@@ -1,6 +1,8 @@
 package me.croabeast.iridiumapi;
 
-import com.google.common.collect.ImmutableMap;
+import me.croabeast.beanslib.utilities.LruCache;
+import me.croabeast.beanslib.utilities.TextStripper;
+import me.croabeast.iridiumapi.lexer.ColorLexer;
 import me.croabeast.iridiumapi.patterns.Gradient;
 import me.croabeast.iridiumapi.patterns.BasePattern;
 import me.croabeast.iridiumapi.patterns.Rainbow;
@@ -12,7 +14,6 @@ import org.jetbrains.annotations.*;
 import java.awt.*;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 import static me.croabeast.beanslib.BeansLib.*;
 
@@ -29,33 +30,32 @@ public final class IridiumAPI {
     private static final boolean SUPPORTS_RGB = majorVersion() > 15;
 
     /**
-     * Color regex strings to check.
+     * The lowercase hex digits, to write RGB color codes.
      */
-    private static final String
-            BUKKIT_REGEX = "[&§][a-f\\dk-or]", GRADIENT_REGEX = "</?[gr](:\\d{1,3})?>",
-            RGB_REGEX = "\\{#[\\dA-F]{6}}|<#[\\dA-F]{6}>|&#[\\dA-F]{6}|#[\\dA-F]{6}",
-            COLOR_REGEX = "(?i)" + BUKKIT_REGEX + "|" + GRADIENT_REGEX + "|" + RGB_REGEX;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
     /**
-     * A map that handles all the Bukkit colors by its hex value.
+     * Reusable buffers for applying gradients, one per thread.
+     * Buffers bigger than {@link #MAX_BUFFER} chars are not kept.
      */
-    private static final Map<Color, ChatColor> COLORS = ImmutableMap.<Color, ChatColor>builder()
-            .put(new Color(0), ChatColor.getByChar('0'))
-            .put(new Color(170), ChatColor.getByChar('1'))
-            .put(new Color(43520), ChatColor.getByChar('2'))
-            .put(new Color(43690), ChatColor.getByChar('3'))
-            .put(new Color(11141120), ChatColor.getByChar('4'))
-            .put(new Color(11141290), ChatColor.getByChar('5'))
-            .put(new Color(16755200), ChatColor.getByChar('6'))
-            .put(new Color(11184810), ChatColor.getByChar('7'))
-            .put(new Color(5592405), ChatColor.getByChar('8'))
-            .put(new Color(5592575), ChatColor.getByChar('9'))
-            .put(new Color(5635925), ChatColor.getByChar('a'))
-            .put(new Color(5636095), ChatColor.getByChar('b'))
-            .put(new Color(16733525), ChatColor.getByChar('c'))
-            .put(new Color(16733695), ChatColor.getByChar('d'))
-            .put(new Color(16777045), ChatColor.getByChar('e'))
-            .put(new Color(16777215), ChatColor.getByChar('f')).build();
+    private static final ThreadLocal<StringBuilder>
+            BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256)),
+            SPECIALS = ThreadLocal.withInitial(() -> new StringBuilder(16));
+
+    private static final int MAX_BUFFER = 8192;
+
+    /**
+     * The color ramps of the last used gradients and rainbows, so the same
+     * range doesn't compute its colors again. Ramps are never modified.
+     */
+    private static final LruCache<Long, char[]>
+            GRADIENTS = new LruCache<>(256), RAINBOWS = new LruCache<>(256);
+
+    /**
+     * The max steps of a cached ramp, so a cache keeps at most 256 ramps of
+     * 512 RGB codes (about 3.5 MB). Longer ramps are created every time.
+     */
+    private static final int MAX_CACHED_STEPS = 512;
 
     /**
      * A list with all the {@link BasePattern} classes.
@@ -64,12 +64,26 @@ public final class IridiumAPI {
 
     /**
      * Process a string to apply the correct colors using the RGB format.
+     * <p> It uses the {@link ColorLexer} to process the string in a single pass, and
+     * only uses the {@link BasePattern} chain if the lexer can't handle the string.
      * @param string an input string
      * @param useRGB if false, it will convert all RGB to its closest bukkit color
      * @return the processed string
      */
     @NotNull
     public static String process(@NotNull String string, boolean useRGB) {
+        String result = ColorLexer.process(string, useRGB);
+        return result != null ? result : processPatterns(string, useRGB);
+    }
+
+    /**
+     * Process a string applying every {@link BasePattern} one after another.
+     * @param string an input string
+     * @param useRGB if false, it will convert all RGB to its closest bukkit color
+     * @return the processed string
+     */
+    @NotNull
+    public static String processPatterns(@NotNull String string, boolean useRGB) {
         for (BasePattern pattern : PATTERNS) string = pattern.process(string, useRGB);
         return ChatColor.translateAlternateColorCodes('&', string);
     }
@@ -105,8 +119,21 @@ public final class IridiumAPI {
      */
     @NotNull
     public static String color(@NotNull String string, @NotNull Color start, @NotNull Color end, boolean useRGB) {
-        int step = stripSpecial(string).length();
-        return step <= 1 ? string : apply(string, createGradient(start, end, step, useRGB));
+        return color(string, start.getRGB(), end.getRGB(), useRGB);
+    }
+
+    /**
+     * Applies a gradient color to an input string.
+     * @param string an input string
+     * @param start the start color, as an RGB int
+     * @param end the end color, as an RGB int
+     * @param useRGB if false, it will convert all RGB to its closest bukkit color
+     * @return the string with the applied gradient
+     */
+    @NotNull
+    public static String color(@NotNull String string, int start, int end, boolean useRGB) {
+        int step = visibleLength(string);
+        return step <= 1 ? string : apply(string, gradientRamp(start, end, step, useRGB), useRGB);
     }
 
     /**
@@ -118,8 +145,8 @@ public final class IridiumAPI {
      */
     @NotNull
     public static String rainbow(@NotNull String string, float saturation, boolean useRGB) {
-        int step = stripSpecial(string).length();
-        return step <= 0 ? string : apply(string, createRainbow(step, saturation, useRGB));
+        int step = visibleLength(string);
+        return step <= 0 ? string : apply(string, rainbowRamp(step, saturation, useRGB), useRGB);
     }
 
     /**
@@ -141,7 +168,7 @@ public final class IridiumAPI {
      */
     @NotNull
     public static String stripBukkit(@NotNull String string) {
-        return string.replaceAll("(?i)[&§][a-f\\d]", "");
+        return TextStripper.strip(string, TextStripper.COLORS);
     }
 
     /**
@@ -151,7 +178,7 @@ public final class IridiumAPI {
      */
     @NotNull
     public static String stripSpecial(@NotNull String string) {
-        return string.replaceAll("(?i)[&§][k-o]", "");
+        return TextStripper.strip(string, TextStripper.FORMATS);
     }
 
     /**
@@ -161,7 +188,7 @@ public final class IridiumAPI {
      */
     @NotNull
     public static String stripRGB(@NotNull String string) {
-        return string.replaceAll("(?i)" + RGB_REGEX + "|" + GRADIENT_REGEX, "");
+        return TextStripper.strip(string, TextStripper.HEX | TextStripper.GRADIENTS);
     }
 
     /**
@@ -171,110 +198,225 @@ public final class IridiumAPI {
      */
     @NotNull
     public static String stripAll(@NotNull String string) {
-        return string.replaceAll(COLOR_REGEX, "");
+        return TextStripper.strip(string, TextStripper.ALL);
     }
 
     /**
-     * Applies every color in an array to a source string.
+     * Gets the length of a string without the bukkit special color format, the
+     * same as <strong>stripSpecial(string).length()</strong> without creating a new string.
+     * @param string an input string
+     * @return the length without special formats
+     */
+    private static int visibleLength(@NotNull String string) {
+        int length = string.length(), count = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+
+            if ((c == '&' || c == '§') && i + 1 < length) {
+                char next = Character.toLowerCase(string.charAt(i + 1));
+                if (next >= 'k' && next <= 'o') {
+                    i++;
+                    continue;
+                }
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the length of every color code in a color ramp.
+     * @param useRGB if the codes are RGB codes or bukkit codes
+     * @return the code length
+     */
+    private static int codeLength(boolean useRGB) {
+        return useRGB ? 14 : 2;
+    }
+
+    /**
+     * Writes the color code of an RGB color in a char array, the same as
+     * <strong>ChatColor.of(color).toString()</strong>.
+     * @param ramp the char array
+     * @param offset the offset to start writing
+     * @param rgb the RGB color
+     */
+    private static void writeRGB(char[] ramp, int offset, int rgb) {
+        ramp[offset] = '§';
+        ramp[offset + 1] = 'x';
+
+        for (int i = 0; i < 6; i++) {
+            ramp[offset + 2 + i * 2] = '§';
+            ramp[offset + 3 + i * 2] = HEX_DIGITS[(rgb >> (20 - i * 4)) & 0xF];
+        }
+    }
+
+    /**
+     * Writes the color code of a color in a color ramp.
+     * @param ramp the color ramp
+     * @param index the index of the color
+     * @param rgb the RGB color
+     * @param useRGB if false, it will convert the color to its closest bukkit color
+     */
+    private static void writeColor(char[] ramp, int index, int rgb, boolean useRGB) {
+        int offset = index * codeLength(useRGB);
+
+        if (useRGB) writeRGB(ramp, offset, rgb);
+        else {
+            ramp[offset] = '§';
+            ramp[offset + 1] = LegacyPalette.closestCode(rgb);
+        }
+    }
+
+    /**
+     * Applies every color of a color ramp to a source string.
+     * <p> It works over the chars of the string and writes the color codes
+     * straight from the ramp, using a reusable buffer.
      * @param source a string
-     * @param colors the requested colors array
+     * @param ramp the color codes, one after another
+     * @param useRGB if the codes of the ramp are RGB codes or bukkit codes
      * @return the formatted string
      */
     @NotNull
-    private static String apply(@NotNull String source, @NotNull ChatColor[] colors) {
-        StringBuilder specials = new StringBuilder(), builder = new StringBuilder();
-        String[] characters = source.split("");
-
+    private static String apply(@NotNull String source, @NotNull char[] ramp, boolean useRGB) {
         if (StringUtils.isBlank(source)) return source;
-        int outIndex = 0;
 
-        for (int i = 0; i < characters.length; i++) {
-            if (!characters[i].matches("[&§]") || i + 1 >= characters.length)
-                builder.append(colors[outIndex++])
-                        .append(specials).append(characters[i]);
+        StringBuilder builder = BUILDER.get(), specials = SPECIALS.get();
+        builder.setLength(0);
+        specials.setLength(0);
+
+        int length = source.length(), code = codeLength(useRGB), outIndex = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = source.charAt(i);
+
+            if ((c != '&' && c != '§') || i + 1 >= length)
+                builder.append(ramp, (outIndex++) * code, code)
+                        .append(specials).append(c);
             else {
-                if (!characters[i + 1].equals("r")) {
-                    specials.append(characters[i]);
-                    specials.append(characters[i + 1]);
-                }
+                char next = source.charAt(i + 1);
+                if (next != 'r') specials.append(c).append(next);
                 else specials.setLength(0);
                 i++;
             }
         }
 
-        return builder.toString();
+        String result = builder.toString();
+        if (builder.capacity() > MAX_BUFFER) BUILDER.remove();
+        return result;
+    }
+
+    /**
+     * Gets the cached color ramp of a gradient, creating it if it's not cached.
+     * <p> Ramps longer than {@link #MAX_CACHED_STEPS} colors are not cached.
+     * @param start a start RGB color
+     * @param end an end RGB color
+     * @param step the string's length
+     * @param useRGB if false, it will convert all RGB to its closest bukkit color
+     * @return the gradient color ramp
+     */
+    @NotNull
+    private static char[] gradientRamp(int start, int end, int step, boolean useRGB) {
+        if (step > MAX_CACHED_STEPS) return createGradient(start, end, step, useRGB);
+
+        long key = ((start & 0xFFFFFFL) << 40) | ((end & 0xFFFFFFL) << 16) | ((long) step << 1) | (useRGB ? 1 : 0);
+        return GRADIENTS.get(key, k -> createGradient(start, end, step, useRGB));
+    }
+
+    /**
+     * Gets the cached color ramp of a rainbow, creating it if it's not cached.
+     * <p> Ramps longer than {@link #MAX_CACHED_STEPS} colors are not cached.
+     * @param step the string's length
+     * @param saturation the saturation for the rainbow
+     * @param useRGB if false, it will convert all RGB to its closest bukkit color
+     * @return the rainbow color ramp
+     */
+    @NotNull
+    private static char[] rainbowRamp(int step, float saturation, boolean useRGB) {
+        if (step > MAX_CACHED_STEPS) return createRainbow(step, saturation, useRGB);
+
+        long key = ((long) Float.floatToIntBits(saturation) << 32) | ((long) step << 1) | (useRGB ? 1 : 0);
+        return RAINBOWS.get(key, k -> createRainbow(step, saturation, useRGB));
     }
 
     /**
-     * Creates an array of colors for the rainbow gradient.
+     * Gets the cache of the gradient color ramps, to check its size and hit rate.
+     * @return the gradient cache
+     */
+    @NotNull
+    public static LruCache<Long, char[]> getGradientCache() {
+        return GRADIENTS;
+    }
+
+    /**
+     * Gets the cache of the rainbow color ramps, to check its size and hit rate.
+     * @return the rainbow cache
+     */
+    @NotNull
+    public static LruCache<Long, char[]> getRainbowCache() {
+        return RAINBOWS;
+    }
+
+    /**
+     * Creates the color ramp for the rainbow gradient.
      * @param step the string's length
      * @param saturation the saturation for the rainbow
      * @param useRGB if false, it will convert all RGB to its closest bukkit color
-     * @return the rainbow color array
+     * @return the rainbow color ramp
      */
     @NotNull
-    private static ChatColor[] createRainbow(int step, float saturation, boolean useRGB) {
-        ChatColor[] colors = new ChatColor[step];
+    private static char[] createRainbow(int step, float saturation, boolean useRGB) {
+        char[] ramp = new char[step * codeLength(useRGB)];
         double colorStep = (1.00 / step);
 
         for (int i = 0; i < step; i++) {
-            Color color = Color.getHSBColor((float) (colorStep * i), saturation, saturation);
-            colors[i] = useRGB ? ChatColor.of(color) : getClosestColor(color);
+            int rgb = Color.HSBtoRGB((float) (colorStep * i), saturation, saturation);
+            writeColor(ramp, i, rgb & 0xFFFFFF, useRGB);
         }
-        return colors;
+        return ramp;
     }
 
     /**
-     * Creates an array of colors for the gradient.
-     * @param start a start color
-     * @param end an end color
+     * Creates the color ramp for the gradient.
+     * @param start a start RGB color
+     * @param end an end RGB color
      * @param step the string's length
      * @param useRGB if false, it will convert all RGB to its closest bukkit color
-     * @return the rainbow color array
+     * @return the gradient color ramp
      */
     @NotNull
-    private static ChatColor[] createGradient(@NotNull Color start, @NotNull Color end, int step, boolean useRGB) {
-        ChatColor[] colors = new ChatColor[step];
+    private static char[] createGradient(int start, int end, int step, boolean useRGB) {
+        char[] ramp = new char[step * codeLength(useRGB)];
+
+        int startR = (start >> 16) & 0xFF, startG = (start >> 8) & 0xFF, startB = start & 0xFF,
+                endR = (end >> 16) & 0xFF, endG = (end >> 8) & 0xFF, endB = end & 0xFF;
 
-        int stepR = Math.abs(start.getRed() - end.getRed()) / (step - 1),
-                stepG = Math.abs(start.getGreen() - end.getGreen()) / (step - 1),
-                stepB = Math.abs(start.getBlue() - end.getBlue()) / (step - 1);
+        int stepR = Math.abs(startR - endR) / (step - 1),
+                stepG = Math.abs(startG - endG) / (step - 1),
+                stepB = Math.abs(startB - endB) / (step - 1);
 
-        int[] direction = new int[] {
-                start.getRed() < end.getRed() ? +1 : -1,
-                start.getGreen() < end.getGreen() ? +1 : -1,
-                start.getBlue() < end.getBlue() ? +1 : -1
-        };
+        int directionR = startR < endR ? +1 : -1,
+                directionG = startG < endG ? +1 : -1,
+                directionB = startB < endB ? +1 : -1;
 
         for (int i = 0; i < step; i++) {
-            Color color = new Color(start.getRed() + ((stepR * i) * direction[0]),
-                    start.getGreen() + ((stepG * i) * direction[1]),
-                    start.getBlue() + ((stepB * i) * direction[2]));
-            colors[i] = useRGB ? ChatColor.of(color) : getClosestColor(color);
+            int r = startR + ((stepR * i) * directionR),
+                    g = startG + ((stepG * i) * directionG),
+                    b = startB + ((stepB * i) * directionB);
+            writeColor(ramp, i, (r << 16) | (g << 8) | b, useRGB);
         }
 
-        return colors;
+        return ramp;
     }
 
     /**
      * Gets the closest bukkit color from a normal color.
      * @param color an input color
      * @return the closest bukkit color
+     * @see LegacyPalette#closestCode(int)
      */
     @NotNull
     private static ChatColor getClosestColor(Color color) {
-        Color nearestColor = null;
-        double nearestDistance = Integer.MAX_VALUE;
-
-        for (Color color1 : COLORS.keySet()) {
-            double distance = Math.pow(color.getRed() - color1.getRed(), 2)
-                    + Math.pow(color.getGreen() - color1.getGreen(), 2)
-                    + Math.pow(color.getBlue() - color1.getBlue(), 2);
-            if (nearestDistance > distance) {
-                nearestColor = color1;
-                nearestDistance = distance;
-            }
-        }
-        return COLORS.get(nearestColor);
+        return ChatColor.getByChar(LegacyPalette.closestCode(color.getRGB()));
     }
-}
\ No newline at end of file
+}
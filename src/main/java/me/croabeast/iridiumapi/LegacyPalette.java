@@ -0,0 +1,117 @@
+package me.croabeast.iridiumapi;
+
+/**
+ * The 16 legacy bukkit colors, with a lookup cube to find the closest one
+ * of any RGB color in constant time.
+ * <p> The RGB space is split in 32x32x32 cells of 8x8x8 colors. If the 8 corners
+ * of a cell have the same closest color, all the colors inside it have that color
+ * too, because the region of each legacy color is convex. The other cells are
+ * solved comparing the 16 colors, like before.
+ * <p> Ties are resolved to the first color of the palette.
+ */
+public final class LegacyPalette {
+
+    /**
+     * The RGB values of the legacy colors, sorted by its code.
+     */
+    private static final int[] RGB = {
+            0x000000, 0x0000AA, 0x00AA00, 0x00AAAA, 0xAA0000, 0xAA00AA, 0xFFAA00, 0xAAAAAA,
+            0x555555, 0x5555FF, 0x55FF55, 0x55FFFF, 0xFF5555, 0xFF55FF, 0xFFFF55, 0xFFFFFF
+    };
+
+    /**
+     * The legacy color codes, in the same order of {@link #RGB}.
+     */
+    private static final char[] CODES = "0123456789abcdef".toCharArray();
+
+    /**
+     * A cell that has more than one closest color.
+     */
+    private static final byte MIXED = -1;
+
+    /**
+     * The closest color index of each cell, or {@link #MIXED}.
+     */
+    private static final byte[] CUBE = new byte[32 * 32 * 32];
+
+    static {
+        for (int r = 0; r < 32; r++)
+            for (int g = 0; g < 32; g++)
+                for (int b = 0; b < 32; b++) {
+                    int index = -1;
+
+                    corners:
+                    for (int i = 0; i < 8; i++) {
+                        int red = (r << 3) | ((i & 4) != 0 ? 7 : 0),
+                                green = (g << 3) | ((i & 2) != 0 ? 7 : 0),
+                                blue = (b << 3) | ((i & 1) != 0 ? 7 : 0);
+
+                        int closest = search(red, green, blue);
+                        if (index == -1) index = closest;
+                        else if (index != closest) {
+                            index = MIXED;
+                            break corners;
+                        }
+                    }
+
+                    CUBE[(r << 10) | (g << 5) | b] = (byte) index;
+                }
+    }
+
+    private LegacyPalette() {}
+
+    /**
+     * Compares the 16 colors to find the closest one.
+     * @param red the red channel
+     * @param green the green channel
+     * @param blue the blue channel
+     * @return the index of the closest color
+     */
+    private static int search(int red, int green, int blue) {
+        int nearest = 0, distance = Integer.MAX_VALUE;
+
+        for (int i = 0; i < RGB.length; i++) {
+            int c = RGB[i];
+
+            int dr = red - (c >> 16), dg = green - ((c >> 8) & 0xFF), db = blue - (c & 0xFF);
+            int d = dr * dr + dg * dg + db * db;
+
+            if (distance > d) {
+                nearest = i;
+                distance = d;
+            }
+        }
+
+        return nearest;
+    }
+
+    /**
+     * Gets the index of the closest legacy color, from 0 to 15.
+     * @param rgb an RGB color, the alpha bits are ignored
+     * @return the index of the closest color
+     */
+    public static int closestIndex(int rgb) {
+        int red = (rgb >> 16) & 0xFF, green = (rgb >> 8) & 0xFF, blue = rgb & 0xFF;
+
+        byte index = CUBE[((red >> 3) << 10) | ((green >> 3) << 5) | (blue >> 3)];
+        return index != MIXED ? index : search(red, green, blue);
+    }
+
+    /**
+     * Gets the code char of the closest legacy color, like <code>'a'</code>.
+     * @param rgb an RGB color, the alpha bits are ignored
+     * @return the code of the closest color
+     */
+    public static char closestCode(int rgb) {
+        return CODES[closestIndex(rgb)];
+    }
+
+    /**
+     * Gets the RGB value of a legacy color.
+     * @param index the index of the color, from 0 to 15
+     * @return the RGB value
+     */
+    public static int getRGB(int index) {
+        return RGB[index];
+    }
+}
@@ -0,0 +1,460 @@
+package me.croabeast.iridiumapi.lexer;
+
+import me.croabeast.iridiumapi.IridiumAPI;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * A single-pass lexer for the IridiumAPI color format.
+ * <p> It splits a line in {@link Token tokens} (plain text, legacy codes, hex colors,
+ * gradients and rainbows) and renders them in a single {@link StringBuilder}.
+ * <p> The output is the same as running the gradient, solid and rainbow patterns one
+ * after another. If a line is ambiguous for a single pass (nested spans of the same type,
+ * or a span whose output joins the text around it), the lexer gives up and returns null,
+ * so the caller can use the pattern chain instead.
+ */
+public final class ColorLexer {
+
+    /**
+     * The characters that can follow a '&amp;' to be translated as a legacy code.
+     */
+    private static final String CODES = "0123456789AaBbCcDdEeFfKkLlMmNnOoRrXx";
+
+    /**
+     * The characters that can't end a gradient output, because they can
+     * start a new color format with the text after the gradient.
+     */
+    private static final String UNSAFE_ENDS = "#{<&";
+
+    private final String line;
+
+    /*
+     * The gradient spans, found before everything else, as the gradient pattern
+     * is the first one to be applied. Every span uses 4 slots:
+     * start, content start, content end and end.
+     */
+    private int[] gradients = new int[0];
+    private int gradientCount = 0;
+
+    /*
+     * Solid colors replace every occurrence of the matched text, so a bare hex
+     * like #ffffff also replaces the hex inside a later {#ffffff} or <#ffffff>.
+     */
+    private Set<String> bareHexes = null;
+    private Map<String, Boolean> wrappedHexes = null;
+
+    private ColorLexer(String line) {
+        this.line = line;
+    }
+
+    /**
+     * Splits a line in tokens.
+     * @param line an input line
+     * @return the token list, or null if the line can't be lexed in a single pass
+     */
+    @Nullable
+    public static List<Token> tokenize(@NotNull String line) {
+        ColorLexer lexer = new ColorLexer(line);
+        lexer.findGradients();
+        return lexer.lex(0, line.length());
+    }
+
+    /**
+     * Process a line to apply the correct colors in a single pass.
+     * @param line an input line
+     * @param useRGB if false, it will convert all RGB to its closest bukkit color
+     * @return the processed line, or null if the line can't be processed in a single pass
+     */
+    @Nullable
+    public static String process(@NotNull String line, boolean useRGB) {
+        if (!hasFormat(line)) return line;
+
+        ColorLexer lexer = new ColorLexer(line);
+        lexer.findGradients();
+
+        List<Token> tokens = lexer.lex(0, line.length());
+        if (tokens == null) return null;
+
+        StringBuilder builder = new StringBuilder(line.length() + 16);
+        return lexer.render(tokens, builder, useRGB, true) ? builder.toString() : null;
+    }
+
+    /**
+     * Checks if a line has any character that can start a color format.
+     * @param line an input line
+     * @return if the line can have colors
+     */
+    private static boolean hasFormat(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '&' || c == '<' || c == '{' || c == '#') return true;
+        }
+        return false;
+    }
+
+    private static boolean isHex(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    /*
+     * The '.' of a regex doesn't match any of these characters.
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private boolean isHex(int index, int to) {
+        if (index < 0 || index + 6 > to) return false;
+        for (int i = index; i < index + 6; i++)
+            if (!isHex(line.charAt(i))) return false;
+        return true;
+    }
+
+    private boolean is(int index, char lower) {
+        return index < line.length() && Character.toLowerCase(line.charAt(index)) == lower;
+    }
+
+    /*
+     * <G:xxxxxx>
+     */
+    private boolean isGradientOpen(int i) {
+        return is(i, '<') && is(i + 1, 'g') && is(i + 2, ':') &&
+                isHex(i + 3, line.length()) && is(i + 9, '>');
+    }
+
+    /*
+     * </G:xxxxxx>
+     */
+    private boolean isGradientClose(int i) {
+        return is(i, '<') && is(i + 1, '/') && is(i + 2, 'g') && is(i + 3, ':') &&
+                isHex(i + 4, line.length()) && is(i + 10, '>');
+    }
+
+    /*
+     * <R:n>, returns the content start or -1.
+     */
+    private int rainbowOpen(int i) {
+        if (!is(i, '<') || !is(i + 1, 'r') || !is(i + 2, ':')) return -1;
+
+        int digits = 0;
+        while (digits < 3 && i + 3 + digits < line.length()) {
+            char c = line.charAt(i + 3 + digits);
+            if (c < '0' || c > '9') break;
+            digits++;
+        }
+
+        return digits > 0 && is(i + 3 + digits, '>') ? i + 4 + digits : -1;
+    }
+
+    /*
+     * </R>
+     */
+    private boolean isRainbowClose(int i) {
+        return is(i, '<') && is(i + 1, '/') && is(i + 2, 'r') && is(i + 3, '>');
+    }
+
+    private boolean containsOpen(int from, int to, char type) {
+        for (int i = from; i + 2 < to; i++)
+            if (is(i, '<') && is(i + 1, type) && is(i + 2, ':')) return true;
+        return false;
+    }
+
+    /**
+     * Finds all the gradient spans, the same way the gradient pattern does.
+     */
+    private void findGradients() {
+        int length = line.length(), i = 0;
+
+        while (i < length) {
+            if (line.charAt(i) != '<' || !isGradientOpen(i)) {
+                i++;
+                continue;
+            }
+
+            int start = i + 10, close = -1;
+            for (int p = start; p < length; p++) {
+                if (isLineTerminator(line.charAt(p))) break;
+                if (p > start && isGradientClose(p)) {
+                    close = p;
+                    break;
+                }
+            }
+
+            if (close < 0) {
+                i++;
+                continue;
+            }
+
+            if (gradients.length < (gradientCount + 1) * 4)
+                gradients = Arrays.copyOf(gradients, Math.max(8, gradients.length * 2));
+
+            int slot = gradientCount++ * 4;
+            gradients[slot] = i;
+            gradients[slot + 1] = start;
+            gradients[slot + 2] = close;
+            gradients[slot + 3] = close + 11;
+
+            i = close + 11;
+        }
+    }
+
+    /**
+     * Gets the slot of the gradient span that starts in an index.
+     * @param index an index
+     * @return the slot of the span, or -1 if there is no span in that index
+     */
+    private int gradientAt(int index) {
+        int low = 0, high = gradientCount - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1, start = gradients[mid * 4];
+            if (start < index) low = mid + 1;
+            else if (start > index) high = mid - 1;
+            else return mid * 4;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the closing tag of a rainbow span, skipping the gradient spans
+     * as those are already replaced when the rainbow pattern is applied.
+     * @param start the content start
+     * @return the index of the closing tag, or -1 if not found
+     */
+    private int rainbowClose(int start) {
+        int p = start;
+
+        while (p < line.length()) {
+            int slot = gradientAt(p);
+            if (slot >= 0) {
+                p = gradients[slot + 3];
+                continue;
+            }
+
+            if (isLineTerminator(line.charAt(p))) return -1;
+            if (p > start && isRainbowClose(p)) return p;
+            p++;
+        }
+        return -1;
+    }
+
+    private static void addText(List<Token> tokens, int from, int to) {
+        if (to > from) tokens.add(new Token(Token.Type.TEXT, from, to, from, to, -1, false, null));
+    }
+
+    /**
+     * Checks if a solid color will keep its delimiters.
+     * @param start the start of the solid color
+     * @param end the end of the solid color
+     * @param hex the index of the hex digits
+     * @return if the delimiters are kept
+     */
+    private boolean isWrapped(int start, int end, int hex) {
+        if (bareHexes == null) {
+            bareHexes = new HashSet<>();
+            wrappedHexes = new HashMap<>();
+        }
+
+        String bare = line.substring(hex - 1, hex + 6);
+        if (start == hex - 1) {
+            bareHexes.add(bare);
+            return false;
+        }
+
+        String full = line.substring(start, end);
+        Boolean wrapped = wrappedHexes.get(full);
+
+        if (wrapped == null) {
+            wrapped = bareHexes.contains(bare);
+            wrappedHexes.put(full, wrapped);
+        }
+        return wrapped;
+    }
+
+    /**
+     * Splits a part of the line in tokens.
+     * @param from the start index
+     * @param to the end index (exclusive)
+     * @return the tokens, or null if that part can't be lexed in a single pass
+     */
+    @Nullable
+    private List<Token> lex(int from, int to) {
+        List<Token> tokens = new ArrayList<>();
+        int text = from, i = from;
+
+        while (i < to) {
+            int slot = gradientAt(i);
+            if (slot >= 0) {
+                int start = gradients[slot + 1], end = gradients[slot + 2];
+                if (containsOpen(start, end, 'g')) return null;
+
+                addText(tokens, text, i);
+                tokens.add(new Token(Token.Type.GRADIENT, i,
+                        gradients[slot + 3], start, end, -1, false, null));
+
+                i = text = gradients[slot + 3];
+                continue;
+            }
+
+            char c = line.charAt(i);
+            int hex = -1, length = 0;
+
+            switch (c) {
+                case '<':
+                    // if it's not a rainbow span, it can still be a <#xxxxxx> color
+                    int start = rainbowOpen(i);
+                    if (start > 0) {
+                        int close = rainbowClose(start);
+
+                        if (close > 0 && close + 4 <= to) {
+                            if (containsOpen(start, close, 'r')) return null;
+
+                            List<Token> children = lex(start, close);
+                            if (children == null) return null;
+
+                            addText(tokens, text, i);
+                            tokens.add(new Token(Token.Type.RAINBOW,
+                                    i, close + 4, start, close, -1, false, children));
+
+                            i = text = close + 4;
+                            continue;
+                        }
+                    }
+
+                case '{':
+                    if (i + 8 < to && is(i + 1, '#') && isHex(i + 2, to) &&
+                            is(i + 8, c == '{' ? '}' : '>')) {
+                        hex = i + 2;
+                        length = 9;
+                    }
+                    break;
+
+                case '&':
+                    if (i + 1 >= to) break;
+
+                    if (is(i + 1, '#') && isHex(i + 2, to)) {
+                        hex = i + 2;
+                        length = 8;
+                    }
+                    else if (CODES.indexOf(line.charAt(i + 1)) > -1) {
+                        addText(tokens, text, i);
+                        tokens.add(new Token(Token.Type.LEGACY, i, i + 2, i, i + 2, -1, false, null));
+
+                        i = text = i + 2;
+                        continue;
+                    }
+                    break;
+
+                case '#':
+                    if (isHex(i + 1, to)) {
+                        hex = i + 1;
+                        length = 7;
+                    }
+                    break;
+
+                default: break;
+            }
+
+            if (hex < 0) {
+                i++;
+                continue;
+            }
+
+            addText(tokens, text, i);
+            tokens.add(new Token(Token.Type.HEX, i, i + length, i, i + length,
+                    hex, isWrapped(i, i + length, hex), null));
+
+            i = text = i + length;
+        }
+
+        addText(tokens, text, to);
+        return tokens;
+    }
+
+    /**
+     * Translates the '&amp;' legacy codes of a builder region, including
+     * a '&amp;' that may be just before the region.
+     * @param builder the builder
+     * @param from the region start
+     * @param to the region end (exclusive)
+     */
+    private static void translate(StringBuilder builder, int from, int to) {
+        for (int i = Math.max(from - 1, 0); i < Math.min(to, builder.length()) - 1; i++) {
+            char next = builder.charAt(i + 1);
+            if (builder.charAt(i) != '&' || CODES.indexOf(next) < 0) continue;
+
+            builder.setCharAt(i, '§');
+            builder.setCharAt(i + 1, Character.toLowerCase(next));
+        }
+    }
+
+    private int color(int index) {
+        int rgb = 0;
+        for (int i = index; i < index + 6; i++)
+            rgb = (rgb << 4) | Character.digit(line.charAt(i), 16);
+        return rgb;
+    }
+
+    /**
+     * Renders a token list in a builder.
+     * @param tokens the tokens
+     * @param builder the builder
+     * @param useRGB if false, it will convert all RGB to its closest bukkit color
+     * @param translate if the legacy codes should be translated
+     * @return true if rendered, false if the line should use the pattern chain instead
+     */
+    private boolean render(List<Token> tokens, StringBuilder builder, boolean useRGB, boolean translate) {
+        for (Token token : tokens) {
+            int at = builder.length();
+
+            switch (token.getType()) {
+                case TEXT:
+                    builder.append(line, token.getStart(), token.getEnd());
+                    if (translate) translate(builder, at, at + 1);
+                    break;
+
+                case LEGACY:
+                    char code = line.charAt(token.getStart() + 1);
+                    if (translate) builder.append('§').append(Character.toLowerCase(code));
+                    else builder.append('&').append(code);
+                    break;
+
+                case HEX:
+                    int hex = token.getHexIndex();
+                    String color = IridiumAPI.getColor(line.substring(hex, hex + 6), useRGB).toString();
+
+                    if (!token.isWrapped()) builder.append(color);
+                    else builder.append(line, token.getStart(), hex - 1).
+                            append(color).append(line, hex + 6, token.getEnd());
+                    break;
+
+                case GRADIENT:
+                    String content = line.substring(token.getContentStart(), token.getContentEnd());
+                    String gradient = IridiumAPI.color(content, color(token.getStart() + 3),
+                            color(token.getContentEnd() + 4), useRGB);
+
+                    if (gradient.isEmpty() || gradient.equals(content) ||
+                            UNSAFE_ENDS.indexOf(gradient.charAt(gradient.length() - 1)) > -1)
+                        return false;
+
+                    builder.append(gradient);
+                    if (translate) translate(builder, at, builder.length());
+                    break;
+
+                case RAINBOW:
+                    StringBuilder inner = new StringBuilder();
+                    if (!render(token.getChildren(), inner, useRGB, false)) return false;
+
+                    float saturation = Float.parseFloat(
+                            line.substring(token.getStart() + 3, token.getContentStart() - 1));
+
+                    builder.append(IridiumAPI.rainbow(inner.toString(), saturation, useRGB));
+                    if (translate) translate(builder, at, builder.length());
+                    break;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,145 @@
+package me.croabeast.iridiumapi.lexer;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A single token of a line, created by the {@link ColorLexer}.
+ * <p> Tokens doesn't copy any text, they only store the bounds of the source line.
+ */
+public final class Token {
+
+    /**
+     * The token types that can be found in a line.
+     */
+    public enum Type {
+        /**
+         * Plain text without any color format.
+         */
+        TEXT,
+        /**
+         * A legacy color or format code, like <strong>&amp;a</strong>.
+         */
+        LEGACY,
+        /**
+         * A solid hex color, like <strong>{#ffffff}</strong> or <strong>&amp;#ffffff</strong>.
+         */
+        HEX,
+        /**
+         * A gradient span, like <strong>&lt;G:000000&gt;text&lt;/G:ffffff&gt;</strong>.
+         */
+        GRADIENT,
+        /**
+         * A rainbow span, like <strong>&lt;R:1&gt;text&lt;/R&gt;</strong>.
+         */
+        RAINBOW
+    }
+
+    private final Type type;
+    private final int start, end;
+    private final int contentStart, contentEnd;
+
+    private final int hexIndex;
+    private final boolean wrapped;
+
+    private final List<Token> children;
+
+    /**
+     * Creates a new token.
+     * @param type the token type
+     * @param start the start index in the source line
+     * @param end the end index (exclusive) in the source line
+     * @param contentStart the start index of the content of a span
+     * @param contentEnd the end index (exclusive) of the content of a span
+     * @param hexIndex the index of the hex value of a solid color, -1 if not a solid color
+     * @param wrapped if only the hex value of a solid color should be replaced
+     * @param children the inner tokens of a rainbow span
+     */
+    Token(Type type, int start, int end, int contentStart, int contentEnd,
+          int hexIndex, boolean wrapped, List<Token> children) {
+        this.type = type;
+        this.start = start;
+        this.end = end;
+        this.contentStart = contentStart;
+        this.contentEnd = contentEnd;
+        this.hexIndex = hexIndex;
+        this.wrapped = wrapped;
+        this.children = children == null ? Collections.emptyList() : children;
+    }
+
+    /**
+     * Gets the token type.
+     * @return the type
+     */
+    @NotNull
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the start index of this token in the source line.
+     * @return the start index
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the end index (exclusive) of this token in the source line.
+     * @return the end index
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * Gets the start index of the content of a gradient or rainbow span.
+     * <p> For the other types, it's the same as {@link #getStart()}.
+     * @return the content start index
+     */
+    public int getContentStart() {
+        return contentStart;
+    }
+
+    /**
+     * Gets the end index (exclusive) of the content of a gradient or rainbow span.
+     * <p> For the other types, it's the same as {@link #getEnd()}.
+     * @return the content end index
+     */
+    public int getContentEnd() {
+        return contentEnd;
+    }
+
+    /**
+     * Gets the index of the 6 hex digits of a solid color.
+     * @return the hex index, or -1 if this token isn't a solid color
+     */
+    public int getHexIndex() {
+        return hexIndex;
+    }
+
+    /**
+     * Checks if only the hex digits of this solid color are replaced, keeping
+     * its delimiters. This happens when the same bare hex color was found before.
+     * @return if the delimiters are kept
+     */
+    public boolean isWrapped() {
+        return wrapped;
+    }
+
+    /**
+     * Gets the inner tokens of a rainbow span.
+     * @return the inner tokens, empty if this token isn't a rainbow span
+     */
+    @NotNull
+    public List<Token> getChildren() {
+        return children;
+    }
+
+    @Override
+    public String toString() {
+        return type + "[" + start + ", " + end + ")";
+    }
+}
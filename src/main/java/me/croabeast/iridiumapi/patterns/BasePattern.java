@@ -1,5 +1,7 @@
 package me.croabeast.iridiumapi.patterns;
 
+import me.croabeast.beanslib.utilities.PatternRegistry;
+
 import java.util.regex.Pattern;
 
 /**
@@ -10,14 +12,22 @@ public abstract class BasePattern {
     /**
      * The hex basic format.
      */
-    private final String HEX = "[\\da-f]{6}";
+    private static final String HEX = "[\\da-f]{6}";
+
+    /**
+     * The default regexes of every pattern.
+     */
+    private static final String
+            GRADIENT = "(?i)<G:(" + HEX + ")>(.+?)</G:(" + HEX + ")>",
+            RAINBOW = "(?i)<R:(\\d{1,3})>(.+?)</R>",
+            SOLID = "(?i)\\{#(" + HEX + ")}|<#(" + HEX + ")>|&#(" + HEX + ")|#(" + HEX + ")";
 
     /**
      * Compiles the gradient pattern.
      * @return gradient pattern
      */
     protected Pattern gradientPattern() {
-        return Pattern.compile("(?i)<G:(" + HEX + ")>(.+?)</G:(" + HEX + ")>");
+        return PatternRegistry.compile(GRADIENT);
     }
 
     /**
@@ -25,7 +35,7 @@ public abstract class BasePattern {
      * @return rainbow gradient pattern
      */
     protected Pattern rainbowPattern() {
-        return Pattern.compile("(?i)<R:(\\d{1,3})>(.+?)</R>");
+        return PatternRegistry.compile(RAINBOW);
     }
 
     /**
@@ -33,7 +43,7 @@ public abstract class BasePattern {
      * @return solid color pattern
      */
     protected Pattern solidPattern() {
-        return Pattern.compile("(?i)\\{#(" + HEX + ")}|<#(" + HEX + ")>|&#(" + HEX + ")|#(" + HEX + ")");
+        return PatternRegistry.compile(SOLID);
     }
 
     /**
@@ -0,0 +1,46 @@
+package me.croabeast.beanslib;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.plugin.PluginManager;
+
+import java.lang.reflect.Proxy;
+import java.util.logging.Logger;
+
+/**
+ * A small stub of a 1.16.5 Bukkit server, so the lib can run in the tests.
+ * <p> It only answers the server version, the logger and the plugin manager,
+ * where every plugin is disabled. Any other method returns null.
+ */
+public final class TestServer {
+
+    private static final Logger LOGGER = Logger.getLogger("TestServer");
+
+    private TestServer() {}
+
+    /**
+     * Registers the stub as the Bukkit server, if there is no server yet.
+     */
+    public static synchronized void install() {
+        if (Bukkit.getServer() != null) return;
+
+        PluginManager manager = (PluginManager) Proxy.newProxyInstance(
+                TestServer.class.getClassLoader(), new Class<?>[] {PluginManager.class},
+                (proxy, method, args) -> method.getReturnType() == boolean.class ? false : null
+        );
+
+        Bukkit.setServer((Server) Proxy.newProxyInstance(
+                TestServer.class.getClassLoader(), new Class<?>[] {Server.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getVersion": return "git-Spigot-test (MC: 1.16.5)";
+                        case "getBukkitVersion": return "1.16.5-R0.1-SNAPSHOT";
+                        case "getLogger": return LOGGER;
+                        case "getPluginManager": return manager;
+                        case "isPrimaryThread": return true;
+                        default: return null;
+                    }
+                }
+        ));
+    }
+}
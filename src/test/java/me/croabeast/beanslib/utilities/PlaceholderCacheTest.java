@@ -0,0 +1,140 @@
+package me.croabeast.beanslib.utilities;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.regex.Matcher;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the {@link PlaceholderCache#PLACEHOLDER} pattern splits a line in the
+ * same placeholders that PlaceholderAPI replaces, so parsing every placeholder alone
+ * gives the same line as parsing the whole line.
+ */
+public class PlaceholderCacheTest {
+
+    private static final Set<String> IDENTIFIERS = new HashSet<>(Arrays.asList("player", "server"));
+
+    private static final String[] FRAGMENTS = {
+            "%", "%%", "_", " ", "a", "50", "player", "PLAYER", "server", "name", "off",
+            "%player_name%", "%server_online%", "%player%", "% ", "\t", "&", "{", "}"
+    };
+
+    /**
+     * The char replacer of PlaceholderAPI, with a lookup of the {@link #IDENTIFIERS}.
+     * @param text the input line
+     * @return the replaced line
+     */
+    private static String papi(String text) {
+        char[] chars = text.toCharArray();
+        StringBuilder builder = new StringBuilder(), identifier = new StringBuilder(), params = new StringBuilder();
+
+        for (int i = 0; i < chars.length; i++) {
+            char l = chars[i];
+            if (l != '%' || i + 1 >= chars.length) {
+                builder.append(l);
+                continue;
+            }
+
+            boolean identified = false, invalid = true, hadSpace = false;
+
+            while (++i < chars.length) {
+                char p = chars[i];
+
+                if (p == ' ' && !identified) {
+                    hadSpace = true;
+                    break;
+                }
+                if (p == '%') {
+                    invalid = false;
+                    break;
+                }
+                if (p == '_' && !identified) {
+                    identified = true;
+                    continue;
+                }
+                (identified ? params : identifier).append(p);
+            }
+
+            String id = identifier.toString(), param = params.toString();
+            identifier.setLength(0);
+            params.setLength(0);
+
+            if (invalid) {
+                builder.append('%').append(id);
+                if (identified) builder.append('_').append(param);
+                if (hadSpace) builder.append(' ');
+                continue;
+            }
+
+            if (!IDENTIFIERS.contains(id.toLowerCase(Locale.ROOT))) {
+                builder.append('%').append(id);
+                if (identified) builder.append('_');
+                builder.append(param).append('%');
+                continue;
+            }
+
+            builder.append('[').append(id).append(':').append(param).append(']');
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Replaces every placeholder found by the pattern alone, like the cache does.
+     * @param line the input line
+     * @return the replaced line
+     */
+    private static String split(String line) {
+        Matcher matcher = PatternRegistry.compile(PlaceholderCache.PLACEHOLDER).matcher(line);
+        StringBuilder builder = new StringBuilder();
+
+        int last = 0;
+        while (matcher.find()) {
+            builder.append(line, last, matcher.start()).append(papi(matcher.group()));
+            last = matcher.end();
+        }
+        return builder.append(line.substring(last)).toString();
+    }
+
+    private static List<String> placeholders(String line) {
+        Matcher matcher = PatternRegistry.compile(PlaceholderCache.PLACEHOLDER).matcher(line);
+
+        List<String> list = new ArrayList<>();
+        while (matcher.find()) list.add(matcher.group());
+        return list;
+    }
+
+    @Test
+    public void ignoresLiteralPercentBeforePlaceholder() {
+        String line = "50% off for %player_name%";
+
+        assertEquals(Collections.singletonList("%player_name%"), placeholders(line));
+        assertEquals("50% off for [player:name]", split(line));
+    }
+
+    @Test
+    public void findsIdentifier() {
+        Matcher matcher = PatternRegistry.compile(PlaceholderCache.PLACEHOLDER).matcher("&7Online: %Server_online players%");
+
+        assertTrue(matcher.find());
+        assertEquals("Server", matcher.group(1));
+        assertEquals("%Server_online players%", matcher.group());
+    }
+
+    @Test
+    public void matchesPlaceholderApiOnRandomLines() {
+        Random random = new Random(0x9A91L);
+
+        for (int i = 0; i < 100_000; i++) {
+            StringBuilder builder = new StringBuilder();
+
+            int length = random.nextInt(10);
+            for (int j = 0; j < length; j++) builder.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+
+            String line = builder.toString();
+            assertEquals(line, papi(line), split(line));
+        }
+    }
+}
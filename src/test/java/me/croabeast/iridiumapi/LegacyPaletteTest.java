@@ -0,0 +1,68 @@
+package me.croabeast.iridiumapi;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares the {@link LegacyPalette} lookup with the previous nearest-color loop
+ * of {@link IridiumAPI}, over all the 2^24 RGB colors.
+ */
+public class LegacyPaletteTest {
+
+    /**
+     * The legacy colors in the order of the previous color map.
+     */
+    private static final int[] COLORS = {
+            0, 170, 43520, 43690, 11141120, 11141290, 16755200, 11184810,
+            5592405, 5592575, 5635925, 5636095, 16733525, 16733695, 16777045, 16777215
+    };
+
+    private static final String CODES = "0123456789abcdef";
+
+    /**
+     * The previous nearest-color loop, the first closest color wins.
+     * @param rgb an RGB color
+     * @return the index of the closest color
+     */
+    private static int closest(int rgb) {
+        int red = (rgb >> 16) & 0xFF, green = (rgb >> 8) & 0xFF, blue = rgb & 0xFF;
+
+        int nearest = -1;
+        double nearestDistance = Integer.MAX_VALUE;
+
+        for (int i = 0; i < COLORS.length; i++) {
+            int color = COLORS[i];
+
+            double distance = Math.pow(red - (color >> 16), 2)
+                    + Math.pow(green - ((color >> 8) & 0xFF), 2)
+                    + Math.pow(blue - (color & 0xFF), 2);
+            if (nearestDistance > distance) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    @Test
+    public void matchesNearestColorLoop() {
+        for (int rgb = 0; rgb < 1 << 24; rgb++) {
+            int expected = closest(rgb);
+
+            if (LegacyPalette.closestIndex(rgb) != expected)
+                fail("Wrong index for #" + Integer.toHexString(rgb) + ", expected " + expected);
+
+            if (LegacyPalette.closestCode(rgb | 0xFF000000) != CODES.charAt(expected))
+                fail("Wrong code for #" + Integer.toHexString(rgb));
+        }
+    }
+
+    @Test
+    public void keepsPaletteColors() {
+        for (int i = 0; i < COLORS.length; i++) {
+            assertEquals(COLORS[i], LegacyPalette.getRGB(i));
+            assertEquals(i, LegacyPalette.closestIndex(COLORS[i]));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package me.croabeast.iridiumapi.lexer;
+
+import me.croabeast.beanslib.TestServer;
+import me.croabeast.iridiumapi.IridiumAPI;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares the {@link ColorLexer} with the {@link me.croabeast.iridiumapi.patterns.BasePattern}
+ * chain over a random corpus, for RGB and legacy colors.
+ */
+public class ColorLexerTest {
+
+    /**
+     * The fragments of the random lines: every color format, broken formats and plain text.
+     */
+    private static final String[] FRAGMENTS = {
+            "a", "b", " ", "hello", "ab", "x", "0", "5", ":", "/", "{", "}", "<", ">",
+            "&", "&&", "&a", "&l", "&r", "&R", "&x", "§", "§l", "#", "#ff00aa", "#FF00AA",
+            "{#ff00aa}", "<#ff00aa>", "&#ff00aa", "<G:ff0000>", "</G:00ff00>", "<g:123abc>",
+            "</g:ABCDEF>", "<R:1>", "<r:50>", "</R>", "</r>", "<R:1000>", "<R:", "</G:",
+            "\n", "é", "😀"
+    };
+
+    private static final int LINES = 50_000;
+
+    @BeforeClass
+    public static void setUp() {
+        TestServer.install();
+    }
+
+    private static String run(String line, boolean useRGB, boolean lexer) {
+        try {
+            return lexer ? IridiumAPI.process(line, useRGB) : IridiumAPI.processPatterns(line, useRGB);
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static void check(String line) {
+        for (boolean useRGB : new boolean[] {true, false}) {
+            String expected = run(line, useRGB, false);
+
+            assertEquals("useRGB=" + useRGB + ", line=" + line, expected, run(line, useRGB, true));
+
+            String lexed = ColorLexer.process(line, useRGB);
+            if (lexed != null) assertEquals("useRGB=" + useRGB + ", line=" + line, expected, lexed);
+        }
+    }
+
+    @Test
+    public void matchesPatternsOnRandomLines() {
+        Random random = new Random(0x1D1D1A);
+
+        for (int i = 0; i < LINES; i++) {
+            StringBuilder builder = new StringBuilder();
+
+            int length = random.nextInt(14);
+            for (int j = 0; j < length; j++) builder.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+
+            check(builder.toString());
+        }
+    }
+
+    @Test
+    public void matchesPatternsOnCommonLines() {
+        String[] lines = {
+                "", "plain text", "&aGreen &lbold &rreset", "{#ff0000}Red <#00ff00>Green &#0000ffBlue #ffffffWhite",
+                "<G:ff0000>Gradient text</G:0000ff>", "<R:100>Rainbow text</R>",
+                "<G:ff0000>&lBold gradient</G:00ff00> and <R:50>&orainbow</R>", "#ff00aa{#ff00aa}<#ff00aa>"
+        };
+        for (String line : lines) check(line);
+    }
+}